@@ -0,0 +1,92 @@
+package com.tubespjmfkel2.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tubespjmfkel2.algorithm.Dijkstra;
+import com.tubespjmfkel2.algorithm.Frontier;
+import com.tubespjmfkel2.algorithm.SearchContext;
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Membandingkan antrian prioritas engine CSR ({@link Frontier.Type}):
+ * binary heap, radix heap, dan bucket queue (Dial) pada pencarian
+ * single-source penuh dan point-to-point.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class FrontierBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+        public SyntheticGraph.Shape shape;
+
+        @Param({"10000", "1000000"})
+        public int vertices;
+
+        @Param({"BINARY_HEAP", "RADIX_HEAP", "BUCKET_QUEUE"})
+        public Frontier.Type frontier;
+
+        CsrGraph snapshot;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            snapshot = SyntheticGraph.generate(shape, vertices, 42).toGraphService().getGraph().snapshot();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class QueryState {
+
+        SearchContext context;
+
+        Random random = new Random(7);
+
+        int source;
+
+        int target;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphState graph) {
+            context = new SearchContext(graph.snapshot.getVertexCount());
+        }
+
+        @Setup(Level.Invocation)
+        public void nextQuery(GraphState graph) {
+            source = random.nextInt(graph.snapshot.getVertexCount());
+            target = random.nextInt(graph.snapshot.getVertexCount());
+        }
+    }
+
+    @Benchmark
+    public long singleSource(GraphState graph, QueryState query) {
+        Dijkstra.calculateShortestPath(
+                graph.snapshot, query.context, query.source, -1, Long.MAX_VALUE, graph.frontier);
+        return query.context.getDistance(query.target);
+    }
+
+    @Benchmark
+    public long pointToPoint(GraphState graph, QueryState query) {
+        Dijkstra.calculateShortestPath(
+                graph.snapshot, query.context, query.source, query.target, Long.MAX_VALUE, graph.frontier);
+        return query.context.getDistance(query.target);
+    }
+}
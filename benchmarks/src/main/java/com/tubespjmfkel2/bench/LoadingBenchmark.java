@@ -0,0 +1,97 @@
+package com.tubespjmfkel2.bench;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tubespjmfkel2.domain.Vertex;
+import com.tubespjmfkel2.dto.ImportResult;
+import com.tubespjmfkel2.service.GraphService;
+
+/**
+ * Benchmark pemuatan graf: import CSV lengkap dan pencarian vertex
+ * berdasarkan nama ({@link GraphService#findVertex}).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class LoadingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class CsvState {
+
+        @Param({"GRID", "SCALE_FREE"})
+        public SyntheticGraph.Shape shape;
+
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int vertices;
+
+        Path csv;
+
+        GraphService loaded;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            SyntheticGraph graph = SyntheticGraph.generate(shape, vertices, 42);
+            csv = Files.createTempFile("graph-" + shape + "-" + vertices, ".csv");
+            graph.writeCsv(csv);
+            loaded = graph.toGraphService();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class LookupState {
+
+        String[] names = new String[1024];
+
+        int next;
+
+        @Setup(Level.Trial)
+        public void setUp(CsvState state) {
+            Random random = new Random(7);
+            int vertexCount = state.loaded.getGraph().getVertices().size();
+            for (int i = 0; i < names.length; i++) {
+                names[i] = SyntheticGraph.name(random.nextInt(vertexCount));
+            }
+        }
+
+        String nextName() {
+            next = (next + 1) & (names.length - 1);
+            return names[next];
+        }
+    }
+
+    @Benchmark
+    public ImportResult importCsv(CsvState state) throws IOException {
+        return new GraphService().importCsv(state.csv);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Vertex findVertex(CsvState state, LookupState lookup) {
+        return state.loaded.findVertex(lookup.nextName());
+    }
+}
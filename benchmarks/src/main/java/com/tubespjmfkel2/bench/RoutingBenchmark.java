@@ -0,0 +1,112 @@
+package com.tubespjmfkel2.bench;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.tubespjmfkel2.algorithm.Dijkstra;
+import com.tubespjmfkel2.algorithm.SearchContext;
+import com.tubespjmfkel2.domain.CsrGraph;
+import com.tubespjmfkel2.domain.Vertex;
+import com.tubespjmfkel2.dto.DijkstraResult;
+import com.tubespjmfkel2.service.DijkstraService;
+import com.tubespjmfkel2.service.GraphService;
+
+/**
+ * Benchmark query rute: single-source penuh (engine CSR dan engine
+ * referensi berbasis {@link Vertex}) serta query point-to-point melalui
+ * {@link DijkstraService}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class RoutingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class GraphState {
+
+        @Param({"GRID", "GEOMETRIC", "SCALE_FREE"})
+        public SyntheticGraph.Shape shape;
+
+        @Param({"1000", "10000", "100000", "1000000", "10000000"})
+        public int vertices;
+
+        GraphService graphService;
+
+        DijkstraService dijkstraService;
+
+        CsrGraph snapshot;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            graphService = SyntheticGraph.generate(shape, vertices, 42).toGraphService();
+            dijkstraService = new DijkstraService(graphService);
+            snapshot = graphService.getGraph().snapshot();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class QueryState {
+
+        SearchContext context;
+
+        Random random = new Random(7);
+
+        int source;
+
+        int target;
+
+        @Setup(Level.Trial)
+        public void setUp(GraphState graph) {
+            context = new SearchContext(graph.snapshot.getVertexCount());
+        }
+
+        @Setup(Level.Invocation)
+        public void nextQuery(GraphState graph) {
+            source = random.nextInt(graph.snapshot.getVertexCount());
+            target = random.nextInt(graph.snapshot.getVertexCount());
+        }
+    }
+
+    @Benchmark
+    public long singleSourceCsr(GraphState graph, QueryState query) {
+        Dijkstra.calculateShortestPath(graph.snapshot, query.context, query.source, -1, Long.MAX_VALUE);
+        return query.context.getDistance(query.target);
+    }
+
+    /**
+     * Engine berbasis objek {@link Vertex} termasuk reset state O(V) yang
+     * dibutuhkannya, sebagai pembanding implementasi awal. Hanya aman
+     * dijalankan dengan satu thread.
+     */
+    @Benchmark
+    public int singleSourceReference(GraphState graph, QueryState query) {
+        for (Vertex vertex : graph.graphService.getGraph().getVertices()) {
+            vertex.setDistance(Integer.MAX_VALUE);
+            vertex.setPrevious(null);
+        }
+        Vertex source = graph.graphService.findVertex(SyntheticGraph.name(query.source));
+        Dijkstra.calculateShortestPathFromSource(source);
+        return graph.graphService.findVertex(SyntheticGraph.name(query.target)).getDistance();
+    }
+
+    @Benchmark
+    public DijkstraResult pointToPoint(GraphState graph, QueryState query) {
+        return graph.dijkstraService.findShortestPath(
+                SyntheticGraph.name(query.source), SyntheticGraph.name(query.target));
+    }
+}
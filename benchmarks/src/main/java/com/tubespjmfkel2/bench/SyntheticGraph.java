@@ -0,0 +1,219 @@
+package com.tubespjmfkel2.bench;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.tubespjmfkel2.service.GraphService;
+
+/**
+ * Graf sintetis untuk benchmark, disimpan sebagai daftar edge primitif
+ * sehingga dapat dimuat ke {@link GraphService} maupun ditulis sebagai CSV.
+ * Nama vertex ke-i adalah {@code "v" + i}.
+ */
+public class SyntheticGraph {
+
+    /**
+     * Bentuk graf yang dapat dibangkitkan.
+     */
+    public enum Shape {
+        /**
+         * Grid persegi dengan 4 tetangga, menyerupai jaringan jalan kota
+         */
+        GRID,
+        /**
+         * Titik acak di bidang satuan yang dihubungkan jika jaraknya di bawah radius tertentu
+         */
+        GEOMETRIC,
+        /**
+         * Graf scale-free Barabasi-Albert (preferential attachment)
+         */
+        SCALE_FREE
+    }
+
+    private final int vertexCount;
+
+    private int edgeCount;
+
+    private int[] sources;
+
+    private int[] destinations;
+
+    private int[] weights;
+
+    private SyntheticGraph(int vertexCount, int expectedEdges) {
+        this.vertexCount = vertexCount;
+        this.sources = new int[Math.max(expectedEdges, 16)];
+        this.destinations = new int[sources.length];
+        this.weights = new int[sources.length];
+    }
+
+    /**
+     * Membangkitkan graf dengan bentuk dan jumlah vertex tertentu.
+     *
+     * @param shape       bentuk graf
+     * @param vertexCount jumlah vertex (untuk GRID dibulatkan ke bawah ke bilangan kuadrat)
+     * @param seed        seed acak agar hasil dapat diulang
+     * @return graf sintetis
+     */
+    public static SyntheticGraph generate(Shape shape, int vertexCount, long seed) {
+        Random random = new Random(seed);
+        return switch (shape) {
+            case GRID -> grid(vertexCount, random);
+            case GEOMETRIC -> geometric(vertexCount, random);
+            case SCALE_FREE -> scaleFree(vertexCount, random);
+        };
+    }
+
+    private static SyntheticGraph grid(int vertexCount, Random random) {
+        int side = Math.max(2, (int) Math.sqrt(vertexCount));
+        SyntheticGraph graph = new SyntheticGraph(side * side, 2 * side * side);
+        for (int row = 0; row < side; row++) {
+            for (int col = 0; col < side; col++) {
+                int id = row * side + col;
+                if (col + 1 < side)
+                    graph.add(id, id + 1, 1 + random.nextInt(100));
+                if (row + 1 < side)
+                    graph.add(id, id + side, 1 + random.nextInt(100));
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * Graf geometris acak dengan rata-rata derajat sekitar 6. Pasangan titik
+     * dicari melalui bucket grid berukuran radius agar pembangkitan linear.
+     */
+    private static SyntheticGraph geometric(int vertexCount, Random random) {
+        double radius = Math.sqrt(6.0 / (Math.PI * vertexCount));
+        int cells = Math.max(1, (int) (1 / radius));
+
+        double[] xs = new double[vertexCount];
+        double[] ys = new double[vertexCount];
+        int[] cellStart = new int[cells * cells + 1];
+        int[] cellOf = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            xs[i] = random.nextDouble();
+            ys[i] = random.nextDouble();
+            cellOf[i] = cell(xs[i], cells) * cells + cell(ys[i], cells);
+            cellStart[cellOf[i] + 1]++;
+        }
+        for (int c = 0; c < cells * cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        int[] fill = Arrays.copyOf(cellStart, cellStart.length);
+        int[] members = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            members[fill[cellOf[i]]++] = i;
+        }
+
+        SyntheticGraph graph = new SyntheticGraph(vertexCount, 3 * vertexCount);
+        for (int i = 0; i < vertexCount; i++) {
+            int cx = cellOf[i] / cells, cy = cellOf[i] % cells;
+            for (int nx = Math.max(0, cx - 1); nx <= Math.min(cells - 1, cx + 1); nx++) {
+                for (int ny = Math.max(0, cy - 1); ny <= Math.min(cells - 1, cy + 1); ny++) {
+                    int c = nx * cells + ny;
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int j = members[k];
+                        if (j <= i)
+                            continue;
+                        double distance = Math.hypot(xs[i] - xs[j], ys[i] - ys[j]);
+                        if (distance <= radius)
+                            graph.add(i, j, 1 + (int) (distance * 1000));
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    private static int cell(double coordinate, int cells) {
+        return Math.min(cells - 1, (int) (coordinate * cells));
+    }
+
+    /**
+     * Graf Barabasi-Albert: setiap vertex baru terhubung ke 3 vertex lama
+     * dengan peluang sebanding derajatnya.
+     */
+    private static SyntheticGraph scaleFree(int vertexCount, Random random) {
+        int links = 3;
+        SyntheticGraph graph = new SyntheticGraph(vertexCount, links * vertexCount);
+        int[] endpoints = new int[2 * links * vertexCount];
+        int endpointCount = 0;
+
+        for (int i = 1; i < vertexCount; i++) {
+            for (int k = 0; k < Math.min(links, i); k++) {
+                int target = endpointCount == 0 ? 0 : endpoints[random.nextInt(endpointCount)];
+                if (target == i)
+                    continue;
+                graph.add(i, target, 1 + random.nextInt(100));
+                endpoints[endpointCount++] = i;
+                endpoints[endpointCount++] = target;
+            }
+        }
+        return graph;
+    }
+
+    private void add(int source, int destination, int weight) {
+        if (edgeCount == sources.length) {
+            int capacity = sources.length * 2;
+            sources = Arrays.copyOf(sources, capacity);
+            destinations = Arrays.copyOf(destinations, capacity);
+            weights = Arrays.copyOf(weights, capacity);
+        }
+        sources[edgeCount] = source;
+        destinations[edgeCount] = destination;
+        weights[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public static String name(int id) {
+        return "v" + id;
+    }
+
+    /**
+     * Memuat graf ke dalam {@link GraphService} baru.
+     *
+     * @return service berisi graf ini
+     */
+    public GraphService toGraphService() {
+        GraphService graphService = new GraphService();
+        for (int i = 0; i < vertexCount; i++) {
+            graphService.addVertex(name(i));
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            graphService.addEdge(name(sources[i]), name(destinations[i]), weights[i]);
+        }
+        return graphService;
+    }
+
+    /**
+     * Menulis graf dalam format CSV aplikasi (TYPE,SOURCE,DESTINATION,WEIGHT).
+     *
+     * @param path lokasi file tujuan
+     * @throws IOException jika file tidak dapat ditulis
+     */
+    public void writeCsv(Path path) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+            writer.write("TYPE,SOURCE,DESTINATION,WEIGHT\n");
+            for (int i = 0; i < vertexCount; i++) {
+                writer.write("V," + name(i) + ",,\n");
+            }
+            for (int i = 0; i < edgeCount; i++) {
+                writer.write("E," + name(sources[i]) + "," + name(destinations[i]) + "," + weights[i] + "\n");
+            }
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.tubespjmfkel2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pembaca dan penulis JSON minimal untuk {@link RoutingServer}, agar server
+ * tidak memerlukan library tambahan.
+ * <p>
+ * Objek dibaca sebagai {@link Map}, array sebagai {@link List}, angka bulat
+ * sebagai {@link Long}, angka pecahan sebagai {@link Double}, lalu
+ * {@link String}, {@link Boolean}, dan null.
+ */
+final class Json {
+
+    /**
+     * Kedalaman objek dan array bersarang maksimum, agar dokumen seperti
+     * {@code [[[[...]]]]} tidak menghabiskan stack thread server
+     */
+    static final int MAX_DEPTH = 64;
+
+    private final String text;
+
+    private int position;
+
+    private int depth;
+
+    private Json(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param text dokumen JSON
+     * @return nilai hasil pembacaan
+     * @throws IllegalArgumentException jika dokumen bukan JSON yang valid atau
+     *                                  bersarang lebih dalam dari {@link #MAX_DEPTH}
+     */
+    static Object parse(String text) {
+        Json parser = new Json(text);
+        Object value = parser.readValue();
+        parser.skipWhitespace();
+        if (parser.position != text.length())
+            throw parser.error("Karakter berlebih");
+        return value;
+    }
+
+    /**
+     * @param value Map, Collection, String, Number, Boolean, atau null
+     * @return dokumen JSON
+     */
+    static String write(Object value) {
+        StringBuilder out = new StringBuilder();
+        write(value, out);
+        return out.toString();
+    }
+
+    private static void write(Object value, StringBuilder out) {
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof String string) {
+            writeString(string, out);
+        } else if (value instanceof Number || value instanceof Boolean) {
+            out.append(value);
+        } else if (value instanceof Map<?, ?> map) {
+            out.append('{');
+            boolean first = true;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (!first)
+                    out.append(',');
+                first = false;
+                writeString(String.valueOf(entry.getKey()), out);
+                out.append(':');
+                write(entry.getValue(), out);
+            }
+            out.append('}');
+        } else if (value instanceof Collection<?> collection) {
+            out.append('[');
+            boolean first = true;
+            for (Object element : collection) {
+                if (!first)
+                    out.append(',');
+                first = false;
+                write(element, out);
+            }
+            out.append(']');
+        } else {
+            throw new IllegalArgumentException("Tipe tidak dapat ditulis sebagai JSON: " + value.getClass());
+        }
+    }
+
+    private static void writeString(String value, StringBuilder out) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20)
+                        out.append(String.format("\\u%04x", (int) c));
+                    else
+                        out.append(c);
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private Object readValue() {
+        skipWhitespace();
+        if (position >= text.length())
+            throw error("Dokumen berakhir terlalu cepat");
+
+        char c = text.charAt(position);
+        return switch (c) {
+            case '{' -> readObject();
+            case '[' -> readArray();
+            case '"' -> readString();
+            case 't' -> readLiteral("true", Boolean.TRUE);
+            case 'f' -> readLiteral("false", Boolean.FALSE);
+            case 'n' -> readLiteral("null", null);
+            default -> readNumber();
+        };
+    }
+
+    private Map<String, Object> readObject() {
+        Map<String, Object> object = new LinkedHashMap<>();
+        enter();
+        position++;
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            depth--;
+            return object;
+        }
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"')
+                throw error("Nama field harus berupa string");
+            String key = readString();
+            skipWhitespace();
+            expect(':');
+            object.put(key, readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect('}');
+                depth--;
+                return object;
+            }
+        }
+    }
+
+    private List<Object> readArray() {
+        List<Object> array = new ArrayList<>();
+        enter();
+        position++;
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            depth--;
+            return array;
+        }
+        while (true) {
+            array.add(readValue());
+            skipWhitespace();
+            if (peek() == ',') {
+                position++;
+            } else {
+                expect(']');
+                depth--;
+                return array;
+            }
+        }
+    }
+
+    private void enter() {
+        if (++depth > MAX_DEPTH)
+            throw error("Dokumen bersarang lebih dari " + MAX_DEPTH + " tingkat");
+    }
+
+    private String readString() {
+        position++;
+        StringBuilder value = new StringBuilder();
+        while (true) {
+            if (position >= text.length())
+                throw error("String tidak ditutup");
+            char c = text.charAt(position++);
+            if (c == '"')
+                return value.toString();
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+
+            if (position >= text.length())
+                throw error("String tidak ditutup");
+            char escaped = text.charAt(position++);
+            switch (escaped) {
+                case '"', '\\', '/' -> value.append(escaped);
+                case 'b' -> value.append('\b');
+                case 'f' -> value.append('\f');
+                case 'n' -> value.append('\n');
+                case 'r' -> value.append('\r');
+                case 't' -> value.append('\t');
+                case 'u' -> {
+                    if (position + 4 > text.length())
+                        throw error("Escape unicode tidak lengkap");
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException invalid) {
+                        throw error("Escape unicode tidak valid");
+                    }
+                    position += 4;
+                }
+                default -> throw error("Escape tidak dikenal");
+            }
+        }
+    }
+
+    private Object readLiteral(String literal, Object value) {
+        if (!text.startsWith(literal, position))
+            throw error("Nilai tidak dikenal");
+        position += literal.length();
+        return value;
+    }
+
+    private Number readNumber() {
+        int start = position;
+        boolean decimal = false;
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c == '.' || c == 'e' || c == 'E')
+                decimal = true;
+            else if (!(c == '-' || c == '+' || (c >= '0' && c <= '9')))
+                break;
+            position++;
+        }
+
+        String number = text.substring(start, position);
+        try {
+            return decimal ? (Number) Double.parseDouble(number) : (Number) Long.parseLong(number);
+        } catch (NumberFormatException invalid) {
+            position = start;
+            throw error("Angka tidak valid");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private char peek() {
+        if (position >= text.length())
+            throw error("Dokumen berakhir terlalu cepat");
+        return text.charAt(position);
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected)
+            throw error("Diharapkan '" + expected + "'");
+        position++;
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("JSON tidak valid pada posisi " + position + ": " + message);
+    }
+}
@@ -0,0 +1,458 @@
+package com.tubespjmfkel2;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+import com.tubespjmfkel2.dto.DijkstraResult;
+import com.tubespjmfkel2.dto.DistanceMatrix;
+import com.tubespjmfkel2.dto.ImportResult;
+import com.tubespjmfkel2.service.DijkstraService;
+import com.tubespjmfkel2.service.GraphService;
+import com.tubespjmfkel2.service.RoutingMetrics;
+
+/**
+ * Entry point tanpa GUI yang melayani query rute melalui HTTP/JSON di
+ * localhost, untuk dipakai oleh service lain.
+ * <p>
+ * Graf dimuat sekali saat start dan tidak pernah diubah, sehingga seluruh
+ * request membaca snapshot yang sama tanpa penguncian. Setiap request
+ * ditangani oleh virtual thread jika JVM mendukungnya (Java 21+), atau oleh
+ * thread pool biasa jika tidak.
+ *
+ * <pre>
+ * GET  /health
+ * GET  /metrics
+ * GET  /route?from=A&amp;to=B
+ * GET  /nearest?from=A&amp;category=Bengkel&amp;k=3
+ * POST /matrix  {"sources": ["A", "B"], "targets": ["C", "D"]}
+ * POST /batch   {"routes": [{"from": "A", "to": "B"}, {"from": "A", "to": "C"}]}
+ * </pre>
+ */
+public class RoutingServer {
+
+    private static final Logger LOGGER = Logger.getLogger(RoutingServer.class.getName());
+
+    private static final int DEFAULT_PORT = 8080;
+
+    /**
+     * Ukuran body request maksimum
+     */
+    private static final int MAX_BODY_BYTES = 16 * 1024 * 1024;
+
+    /**
+     * Jumlah sel maksimum pada tabel jarak dalam satu request, karena tabel
+     * dan respons JSON-nya dibentuk utuh di memori
+     */
+    private static final long MAX_MATRIX_CELLS = 1_000_000;
+
+    /**
+     * Jumlah rute dengan titik awal yang sama dalam satu batch agar dijawab
+     * dengan satu pencarian one-to-many, bukan dengan query point-to-point
+     * terpisah. Di bawah angka ini query terpisah (yang dapat memakai ALT, CH,
+     * dan cache rute) lebih murah daripada satu pencarian yang harus menjangkau
+     * tujuan terjauh.
+     */
+    private static final int ONE_TO_MANY_BATCH_THRESHOLD = 8;
+
+    /**
+     * Jumlah landmark yang disiapkan saat start jika algoritma ALT dipilih
+     */
+    private static final int LANDMARK_COUNT = 8;
+
+    /**
+     * Jarak antar pencatatan metrik ke log
+     */
+    private static final long METRICS_LOG_PERIOD_SECONDS = 60;
+
+    private final GraphService graphService;
+
+    private final DijkstraService dijkstraService;
+
+    private final HttpServer server;
+
+    private final ExecutorService executor;
+
+    /**
+     * @param graphService   service berisi graf yang sudah dimuat; tidak boleh diubah selama server berjalan
+     * @param dijkstraService service query di atas graf tersebut
+     * @param port           port HTTP (0 untuk port bebas)
+     * @throws IOException jika port tidak dapat dipakai
+     */
+    public RoutingServer(GraphService graphService, DijkstraService dijkstraService, int port) throws IOException {
+        this.graphService = graphService;
+        this.dijkstraService = dijkstraService;
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        executor = newRequestExecutor();
+        server.setExecutor(executor);
+
+        server.createContext("/health", handler("GET", this::health));
+        server.createContext("/metrics", handler("GET", exchange -> RoutingMetrics.get().snapshot()));
+        server.createContext("/route", handler("GET", this::route));
+        server.createContext("/nearest", handler("GET", this::nearest));
+        server.createContext("/matrix", handler("POST", this::matrix));
+        server.createContext("/batch", handler("POST", this::batch));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * {@code RoutingServer <graf.csv|graf.bin> [port] [algoritma]}
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 3) {
+            printUsage();
+            return;
+        }
+
+        Path path = Path.of(args[0]);
+        int port = DEFAULT_PORT;
+        DijkstraService.Algorithm algorithm = null;
+        try {
+            if (args.length > 1)
+                port = Integer.parseInt(args[1]);
+            if (args.length > 2)
+                algorithm = DijkstraService.Algorithm.valueOf(args[2].toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException invalid) {
+            // NumberFormatException juga turunan IllegalArgumentException
+            printUsage();
+            return;
+        }
+        if (port < 0 || port > 65535) {
+            printUsage();
+            return;
+        }
+
+        RoutingMetrics metrics = RoutingMetrics.get();
+        metrics.setEnabled(true);
+        metrics.registerMBean();
+        metrics.startLogging(METRICS_LOG_PERIOD_SECONDS);
+
+        GraphService graphService = new GraphService();
+        ImportResult imported = path.toString().toLowerCase(Locale.ROOT).endsWith(".csv")
+                ? graphService.importCsv(path)
+                : graphService.importBinary(path);
+
+        DijkstraService dijkstraService = new DijkstraService(graphService);
+        if (algorithm != null)
+            dijkstraService.setAlgorithm(algorithm);
+
+        // Snapshot dan data pra-proses dibuat sebelum request pertama masuk
+        graphService.getGraph().snapshot();
+        switch (dijkstraService.getAlgorithm()) {
+            case ALT -> dijkstraService.prepareLandmarks(LANDMARK_COUNT);
+            case CONTRACTION_HIERARCHIES -> dijkstraService.prepareContractionHierarchy();
+            default -> {
+            }
+        }
+
+        RoutingServer routingServer = new RoutingServer(graphService, dijkstraService, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(routingServer::stop));
+        routingServer.start();
+
+        System.out.println("Vertex: " + imported.getVertexCount() + ", Edge: " + imported.getEdgeCount()
+                + ", dimuat dalam " + imported.getElapsedMillis() + " ms");
+        System.out.println("Server rute berjalan di http://localhost:" + routingServer.getPort());
+    }
+
+    private static void printUsage() {
+        System.out.println("Penggunaan: RoutingServer <graf.csv|graf.bin> [port] [algoritma]");
+        System.out.println("Algoritma: " + Arrays.toString(DijkstraService.Algorithm.values()));
+    }
+
+    /**
+     * Virtual thread per request jika tersedia (Java 21+). Dipanggil melalui
+     * reflection agar proyek tetap dapat dikompilasi dengan JDK 17.
+     */
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException unsupported) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    private Object health(HttpExchange exchange) {
+        CsrGraph graph = graphService.getGraph().snapshot();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("vertices", graph.getVertexCount());
+        response.put("edges", graph.getArcCount() / 2);
+        response.put("algorithm", dijkstraService.getAlgorithm().name());
+        return response;
+    }
+
+    private Object route(HttpExchange exchange) {
+        Map<String, String> query = query(exchange);
+        String from = required(query, "from");
+        String to = required(query, "to");
+
+        DijkstraResult result = dijkstraService.findShortestPath(from, to);
+        if (result == null)
+            throw new RequestException(404, "Rute tidak ditemukan!");
+        return routeJson(from, to, result);
+    }
+
+    private Object nearest(HttpExchange exchange) {
+        Map<String, String> query = query(exchange);
+        String from = required(query, "from");
+        String category = required(query, "category");
+        int k = parseInt(query.getOrDefault("k", "1"), "k");
+        if (k <= 0)
+            throw new RequestException(400, "Parameter k harus positif");
+
+        List<DijkstraResult> results = dijkstraService.findNearest(from, category, k);
+        if (results == null)
+            throw new RequestException(404, "Titik tidak ditemukan: " + from);
+
+        List<Object> json = new ArrayList<>(results.size());
+        for (DijkstraResult result : results) {
+            List<String> path = result.getPath();
+            json.add(routeJson(from, path.get(path.size() - 1), result));
+        }
+        return Map.of("results", json);
+    }
+
+    private Object matrix(HttpExchange exchange) throws IOException {
+        Map<?, ?> body = bodyObject(exchange);
+        List<String> sources = stringList(body, "sources");
+        List<String> targets = stringList(body, "targets");
+        if ((long) sources.size() * targets.size() > MAX_MATRIX_CELLS)
+            throw new RequestException(413, "Tabel jarak lebih dari " + MAX_MATRIX_CELLS + " sel");
+
+        DistanceMatrix matrix = dijkstraService.distanceMatrix(sources, targets);
+        if (matrix == null)
+            throw new RequestException(404, "Ada titik yang tidak ditemukan");
+
+        List<Object> rows = new ArrayList<>(sources.size());
+        for (int source = 0; source < sources.size(); source++) {
+            List<Object> row = new ArrayList<>(targets.size());
+            for (int target = 0; target < targets.size(); target++) {
+                long distance = matrix.getDistance(source, target);
+                row.add(distance == DistanceMatrix.UNREACHABLE ? null : distance);
+            }
+            rows.add(row);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("sources", sources);
+        response.put("targets", targets);
+        response.put("distances", rows);
+        return response;
+    }
+
+    /**
+     * Menjawab banyak query rute dalam satu request. Rute dengan titik awal
+     * yang sama dijawab dengan satu pencarian one-to-many jika jumlahnya
+     * cukup banyak, dan kelompok titik awal yang berbeda dikerjakan paralel.
+     */
+    private Object batch(HttpExchange exchange) throws IOException {
+        Map<?, ?> body = bodyObject(exchange);
+        if (!(body.get("routes") instanceof List<?> routes))
+            throw new RequestException(400, "Field routes harus berupa array");
+
+        String[] from = new String[routes.size()];
+        String[] to = new String[routes.size()];
+        Map<String, List<Integer>> bySource = new HashMap<>();
+        for (int i = 0; i < routes.size(); i++) {
+            if (!(routes.get(i) instanceof Map<?, ?> route)
+                    || !(route.get("from") instanceof String source)
+                    || !(route.get("to") instanceof String target))
+                throw new RequestException(400, "Rute ke-" + i + " harus berisi from dan to");
+            from[i] = source;
+            to[i] = target;
+            bySource.computeIfAbsent(source, key -> new ArrayList<>()).add(i);
+        }
+
+        Object[] results = new Object[routes.size()];
+        bySource.values().parallelStream().forEach(indexes -> {
+            List<DijkstraResult> paths = null;
+            if (indexes.size() >= ONE_TO_MANY_BATCH_THRESHOLD) {
+                List<String> targets = new ArrayList<>(indexes.size());
+                for (int i : indexes) {
+                    targets.add(to[i]);
+                }
+                paths = dijkstraService.findShortestPaths(from[indexes.get(0)], targets);
+            }
+            for (int n = 0; n < indexes.size(); n++) {
+                int i = indexes.get(n);
+                DijkstraResult result = indexes.size() >= ONE_TO_MANY_BATCH_THRESHOLD
+                        ? (paths == null ? null : paths.get(n))
+                        : dijkstraService.findShortestPath(from[i], to[i]);
+                if (result != null) {
+                    results[i] = routeJson(from[i], to[i], result);
+                } else {
+                    Map<String, Object> error = new LinkedHashMap<>();
+                    error.put("from", from[i]);
+                    error.put("to", to[i]);
+                    error.put("error", "Rute tidak ditemukan!");
+                    results[i] = error;
+                }
+            }
+        });
+        return Map.of("results", List.of(results));
+    }
+
+    private static Map<String, Object> routeJson(String from, String to, DijkstraResult result) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("from", from);
+        json.put("to", to);
+        json.put("distance", result.getDistance());
+        json.put("path", result.getPath());
+        return json;
+    }
+
+    /**
+     * Membungkus endpoint: memeriksa method HTTP, menulis hasil sebagai JSON,
+     * dan mengubah kesalahan menjadi respons {@code {"error": ...}}. Detail
+     * kesalahan server hanya dicatat ke log, tidak dikirim ke klien. Exchange
+     * selalu ditutup, termasuk jika respons gagal ditulis.
+     */
+    private static HttpHandler handler(String method, Endpoint endpoint) {
+        return exchange -> {
+            try {
+                int status = 200;
+                Object response;
+                try {
+                    if (!method.equals(exchange.getRequestMethod()))
+                        throw new RequestException(405, "Method harus " + method);
+                    response = endpoint.handle(exchange);
+                } catch (RequestException error) {
+                    status = error.status;
+                    response = Map.of("error", error.getMessage());
+                } catch (IllegalArgumentException error) {
+                    status = 400;
+                    response = Map.of("error", String.valueOf(error.getMessage()));
+                } catch (RuntimeException | StackOverflowError error) {
+                    // Error lain (misalnya OutOfMemoryError) dibiarkan: state JVM tidak lagi dapat dipercaya
+                    LOGGER.log(Level.SEVERE, "Request " + exchange.getRequestURI() + " gagal", error);
+                    status = 500;
+                    response = Map.of("error", "Kesalahan server");
+                }
+
+                byte[] bytes = Json.write(response).getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+                exchange.sendResponseHeaders(status, bytes.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(bytes);
+                }
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> parameters = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null || raw.isEmpty())
+            return parameters;
+
+        for (String pair : raw.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = separator < 0 ? pair : pair.substring(0, separator);
+            String value = separator < 0 ? "" : pair.substring(separator + 1);
+            parameters.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    private static Map<?, ?> bodyObject(HttpExchange exchange) throws IOException {
+        byte[] body;
+        try (InputStream in = exchange.getRequestBody()) {
+            body = in.readNBytes(MAX_BODY_BYTES + 1);
+        }
+        if (body.length > MAX_BODY_BYTES)
+            throw new RequestException(413, "Body request terlalu besar");
+
+        Object json;
+        try {
+            json = Json.parse(new String(body, StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException invalid) {
+            throw new RequestException(400, invalid.getMessage());
+        }
+        if (!(json instanceof Map<?, ?> object))
+            throw new RequestException(400, "Body request harus berupa objek JSON");
+        return object;
+    }
+
+    private static String required(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null || value.isEmpty())
+            throw new RequestException(400, "Parameter " + name + " wajib diisi");
+        return value;
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException invalid) {
+            throw new RequestException(400, "Parameter " + name + " harus berupa angka");
+        }
+    }
+
+    private static List<String> stringList(Map<?, ?> body, String name) {
+        if (!(body.get(name) instanceof List<?> values))
+            throw new RequestException(400, "Field " + name + " harus berupa array");
+
+        List<String> names = new ArrayList<>(values.size());
+        for (Object value : values) {
+            if (!(value instanceof String string))
+                throw new RequestException(400, "Field " + name + " harus berisi nama titik");
+            names.add(string);
+        }
+        return names;
+    }
+
+    @FunctionalInterface
+    private interface Endpoint {
+        Object handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Kesalahan request yang dikembalikan ke klien dengan status HTTP tertentu.
+     */
+    private static class RequestException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}
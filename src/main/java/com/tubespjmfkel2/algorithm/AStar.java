@@ -0,0 +1,73 @@
+package com.tubespjmfkel2.algorithm;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Pencarian A* point-to-point di atas {@link CsrGraph}.
+ * <p>
+ * Sama seperti Dijkstra, tetapi prioritas heap adalah jarak dari awal
+ * ditambah perkiraan sisa jarak ({@link Heuristic}), sehingga pencarian
+ * condong ke arah tujuan. Vertex yang sudah diproses boleh diproses ulang
+ * jika jaraknya masih membaik; dengan begitu hasil tetap optimal untuk
+ * heuristik yang admissible walaupun tidak konsisten (misalnya ketika
+ * sebagian vertex tidak memiliki koordinat).
+ */
+public class AStar {
+
+    /**
+     * Menjalankan A* dari {@code source} sampai {@code target} settled.
+     * Jarak dan predecessor tersimpan di {@code context} seperti pada
+     * {@link Dijkstra#calculateShortestPath(CsrGraph, SearchContext, int, int, long)}.
+     *
+     * @param graph       snapshot graf
+     * @param context     state pencarian
+     * @param heuristic   perkiraan sisa jarak yang admissible
+     * @param source      id vertex awal
+     * @param target      id vertex tujuan
+     * @param maxDistance batas jarak rute ({@link Long#MAX_VALUE} untuk tanpa batas)
+     */
+    public static void calculateShortestPath(
+            CsrGraph graph,
+            SearchContext context,
+            Heuristic heuristic,
+            int source,
+            int target,
+            long maxDistance) {
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        context.begin();
+        IntMinHeap heap = context.getHeap();
+
+        context.update(source, 0, -1);
+        heap.push(source, heuristic.estimate(graph, source, target));
+
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            if (current == target || context.settle())
+                return;
+
+            long currentDistance = context.getDistance(current);
+            context.relaxed(offsets[current + 1] - offsets[current]);
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = currentDistance + weights[arc];
+
+                if (newDistance < context.getDistance(neighbor) && newDistance <= maxDistance) {
+                    long estimate = newDistance + heuristic.estimate(graph, neighbor, target);
+
+                    // Perkiraan adalah batas bawah: rute lewat neighbor pasti melebihi batas
+                    if (estimate > maxDistance)
+                        continue;
+
+                    context.update(neighbor, newDistance, current);
+                    context.pushed();
+                    heap.push(neighbor, estimate);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.tubespjmfkel2.algorithm;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Dijkstra dua arah untuk query point-to-point di atas {@link CsrGraph}.
+ * <p>
+ * Pencarian maju dimulai dari vertex awal dan pencarian mundur dari vertex
+ * tujuan. Pada setiap langkah diproses sisi yang kunci heap-nya lebih kecil.
+ * Setiap kali jarak sebuah vertex membaik di salah satu sisi, jumlah jarak
+ * maju + mundur vertex tersebut menjadi kandidat rute terbaik ({@code best}).
+ * Pencarian berhenti ketika jumlah kunci terkecil kedua heap sudah tidak
+ * lebih kecil dari {@code best}; pada titik ini {@code best} pasti optimal.
+ * <p>
+ * Karena edge pada graf tidak berarah, snapshot CSR yang sama dipakai untuk
+ * pencarian mundur.
+ */
+public class BidirectionalDijkstra {
+
+    /**
+     * Menjalankan pencarian dua arah.
+     *
+     * @param graph       snapshot graf
+     * @param forward     context pencarian maju (dari source)
+     * @param backward    context pencarian mundur (dari target)
+     * @param source      id vertex awal
+     * @param target      id vertex tujuan
+     * @param maxDistance batas jarak rute ({@link Long#MAX_VALUE} untuk tanpa batas)
+     * @return vertex pertemuan pada rute terpendek, atau -1 jika tidak ada rute
+     *         atau pencarian dibatalkan melalui {@link SearchMonitor}
+     */
+    public static int calculateShortestPath(
+            CsrGraph graph,
+            SearchContext forward,
+            SearchContext backward,
+            int source,
+            int target,
+            long maxDistance) {
+
+        forward.begin();
+        backward.begin();
+
+        forward.update(source, 0, -1);
+        forward.getHeap().push(source, 0);
+        backward.update(target, 0, -1);
+        backward.getHeap().push(target, 0);
+
+        long best = source == target ? 0 : Long.MAX_VALUE;
+        int meeting = source == target ? source : -1;
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        IntMinHeap forwardHeap = forward.getHeap();
+        IntMinHeap backwardHeap = backward.getHeap();
+
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()) {
+
+            long forwardTop = forwardHeap.peekKey();
+            long backwardTop = backwardHeap.peekKey();
+            if (forwardTop + backwardTop >= best)
+                break;
+
+            // Proses sisi yang kuncinya lebih kecil agar kedua lingkaran pencarian seimbang
+            SearchContext expand = forwardTop <= backwardTop ? forward : backward;
+            SearchContext opposite = expand == forward ? backward : forward;
+
+            int current = expand.getHeap().pop();
+            if (expand.settle())
+                return -1;
+            long currentDistance = expand.getDistance(current);
+            expand.relaxed(offsets[current + 1] - offsets[current]);
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = currentDistance + weights[arc];
+
+                if (newDistance < expand.getDistance(neighbor) && newDistance <= maxDistance) {
+                    expand.update(neighbor, newDistance, current);
+                    expand.pushed();
+                    expand.getHeap().push(neighbor, newDistance);
+
+                    long oppositeDistance = opposite.getDistance(neighbor);
+                    if (oppositeDistance != Long.MAX_VALUE && newDistance + oppositeDistance < best) {
+                        best = newDistance + oppositeDistance;
+                        meeting = neighbor;
+                    }
+                }
+            }
+        }
+
+        return best <= maxDistance ? meeting : -1;
+    }
+
+    /**
+     * Menggabungkan rute maju (source sampai vertex pertemuan) dan rute mundur
+     * (vertex pertemuan sampai target).
+     *
+     * @param forward  context pencarian maju
+     * @param backward context pencarian mundur
+     * @param meeting  vertex pertemuan hasil {@link #calculateShortestPath}
+     * @return urutan id vertex dari source sampai target
+     */
+    public static int[] path(SearchContext forward, SearchContext backward, int meeting) {
+        int[] head = forward.pathTo(meeting);
+
+        int tailLength = 0;
+        for (int vertex = backward.getPredecessor(meeting); vertex != -1; vertex = backward.getPredecessor(vertex)) {
+            tailLength++;
+        }
+
+        int[] path = new int[head.length + tailLength];
+        System.arraycopy(head, 0, path, 0, head.length);
+        int index = head.length;
+        for (int vertex = backward.getPredecessor(meeting); vertex != -1; vertex = backward.getPredecessor(vertex)) {
+            path[index++] = vertex;
+        }
+        return path;
+    }
+
+    /**
+     * @return panjang rute melalui vertex pertemuan
+     */
+    public static long distance(SearchContext forward, SearchContext backward, int meeting) {
+        return forward.getDistance(meeting) + backward.getDistance(meeting);
+    }
+}
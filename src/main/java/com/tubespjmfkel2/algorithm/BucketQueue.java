@@ -0,0 +1,133 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Bucket queue untuk algoritma Dial. Selama pencarian, seluruh prioritas
+ * di dalam antrian berada pada rentang {@code [d, d + C]} dengan {@code d}
+ * prioritas terkecil dan {@code C} bobot edge maksimum, sehingga cukup
+ * {@code C + 1} bucket yang dipakai melingkar.
+ * <p>
+ * Setiap bucket berupa linked list ganda di atas array per vertex, sehingga
+ * penurunan prioritas memindahkan vertex antar bucket dalam O(1) tanpa entri
+ * ganda dan tanpa alokasi. Pengambilan memindai bucket kosong; totalnya
+ * sebanding dengan jarak terjauh yang diproses, jadi struktur ini cocok
+ * untuk bobot maksimum yang kecil.
+ */
+public class BucketQueue implements Frontier {
+
+    private final int mask;
+
+    private final int[] heads;
+
+    private final int[] next;
+
+    private final int[] previous;
+
+    /**
+     * Bucket tempat setiap vertex berada, atau -1 jika vertex tidak ada di antrian
+     */
+    private final int[] bucketOf;
+
+    /**
+     * Prioritas bucket yang sedang ditunjuk; tidak pernah lebih besar dari prioritas terkecil
+     */
+    private long cursor = Long.MAX_VALUE;
+
+    private int size;
+
+    /**
+     * @param capacity  jumlah vertex maksimum (id vertex berada pada 0..capacity-1)
+     * @param maxWeight bobot edge maksimum graf yang dicari
+     */
+    public BucketQueue(int capacity, int maxWeight) {
+        // Jumlah bucket dibulatkan ke pangkat dua agar indeks cukup dihitung dengan mask
+        int bucketCount = Integer.highestOneBit(Math.max(1, maxWeight)) << 1;
+        mask = bucketCount - 1;
+        heads = new int[bucketCount];
+        next = new int[capacity];
+        previous = new int[capacity];
+        bucketOf = new int[capacity];
+        Arrays.fill(heads, -1);
+        Arrays.fill(bucketOf, -1);
+    }
+
+    /**
+     * @return bobot edge maksimum yang didukung
+     */
+    public int getMaxWeight() {
+        return mask;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void push(int vertex, long key) {
+        if (key < cursor)
+            cursor = key;
+
+        if (bucketOf[vertex] >= 0)
+            unlink(vertex);
+        else
+            size++;
+
+        int bucket = (int) (key & mask);
+        int head = heads[bucket];
+        next[vertex] = head;
+        previous[vertex] = -1;
+        if (head >= 0)
+            previous[head] = vertex;
+        heads[bucket] = vertex;
+        bucketOf[vertex] = bucket;
+    }
+
+    @Override
+    public long peekKey() {
+        while (heads[(int) (cursor & mask)] < 0)
+            cursor++;
+        return cursor;
+    }
+
+    @Override
+    public int pop() {
+        peekKey();
+        int vertex = heads[(int) (cursor & mask)];
+        unlink(vertex);
+        bucketOf[vertex] = -1;
+        size--;
+        return vertex;
+    }
+
+    @Override
+    public void clear() {
+        cursor = Long.MAX_VALUE;
+        if (size == 0)
+            return;
+        for (int bucket = 0; bucket < heads.length; bucket++) {
+            for (int vertex = heads[bucket]; vertex >= 0; vertex = next[vertex]) {
+                bucketOf[vertex] = -1;
+            }
+            heads[bucket] = -1;
+        }
+        size = 0;
+    }
+
+    private void unlink(int vertex) {
+        int before = previous[vertex];
+        int after = next[vertex];
+        if (before >= 0)
+            next[before] = after;
+        else
+            heads[bucketOf[vertex]] = after;
+        if (after >= 0)
+            previous[after] = before;
+    }
+}
@@ -0,0 +1,622 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Contraction Hierarchies (CH) untuk query point-to-point yang sangat cepat
+ * pada graf statis.
+ * <p>
+ * Preprocessing mengontraksi vertex satu per satu sesuai urutan prioritas
+ * (edge difference: jumlah shortcut yang dibutuhkan dikurangi jumlah edge
+ * yang hilang, ditambah jumlah tetangga yang sudah dikontraksi). Saat vertex
+ * {@code v} dikontraksi, untuk setiap pasangan tetangga {@code u, w} dicari
+ * witness path yang tidak melewati {@code v}; jika tidak ada, ditambahkan
+ * shortcut {@code u - w} dengan {@code v} sebagai vertex tengah.
+ * <p>
+ * Hasilnya disimpan sebagai graf "naik" dalam format CSR: setiap arc
+ * menuju vertex dengan rank lebih tinggi. Query menjalankan Dijkstra dua
+ * arah yang hanya naik di kedua sisi, lalu shortcut pada rute dibongkar
+ * kembali menjadi vertex asli. Karena edge tidak berarah, graf naik yang
+ * sama dipakai untuk kedua arah pencarian.
+ */
+public class ContractionHierarchy {
+
+    /**
+     * "TPCH" dalam ASCII
+     */
+    private static final int MAGIC = 0x54504348;
+
+    private static final int VERSION = 1;
+
+    /**
+     * Batas vertex yang di-settle pada witness search saat menghitung prioritas
+     */
+    private static final int SIMULATION_SETTLE_LIMIT = 64;
+
+    /**
+     * Batas vertex yang di-settle pada witness search saat kontraksi sebenarnya
+     */
+    private static final int CONTRACTION_SETTLE_LIMIT = 1000;
+
+    private final CsrGraph graph;
+
+    private final int[] rank;
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    private final int[] weights;
+
+    /**
+     * Vertex tengah setiap arc, atau -1 jika arc merupakan edge asli
+     */
+    private final int[] middles;
+
+    private ContractionHierarchy(CsrGraph graph, int[] rank, int[] offsets, int[] targets, int[] weights,
+                                 int[] middles) {
+        this.graph = graph;
+        this.rank = rank;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.middles = middles;
+    }
+
+    /**
+     * Menjalankan preprocessing CH untuk sebuah snapshot graf.
+     *
+     * @param graph snapshot graf
+     * @return hierarki yang siap dipakai untuk query
+     */
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return new Builder(graph).build();
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return jumlah arc graf naik (edge asli dan shortcut)
+     */
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Menjalankan query dua arah yang hanya menelusuri arc naik.
+     *
+     * @param forward  context pencarian dari source
+     * @param backward context pencarian dari target
+     * @param source   id vertex awal
+     * @param target   id vertex tujuan
+     * @return vertex pertemuan (vertex dengan rank tertinggi pada rute), atau -1 jika tidak ada rute
+     *         atau query dibatalkan melalui {@link SearchMonitor}
+     */
+    public int calculateShortestPath(SearchContext forward, SearchContext backward, int source, int target) {
+        forward.begin();
+        backward.begin();
+
+        forward.update(source, 0, -1);
+        forward.getHeap().push(source, 0);
+        backward.update(target, 0, -1);
+        backward.getHeap().push(target, 0);
+
+        long best = Long.MAX_VALUE;
+        int meeting = -1;
+        boolean forwardDone = false;
+        boolean backwardDone = false;
+
+        while (!forwardDone || !backwardDone) {
+
+            // Bergantian, sisi yang sudah selesai dilewati
+            boolean expandForward = !forwardDone
+                    && (backwardDone || forward.getHeap().isEmpty() || backward.getHeap().isEmpty()
+                    || forward.getHeap().peekKey() <= backward.getHeap().peekKey());
+            SearchContext expand = expandForward ? forward : backward;
+            SearchContext opposite = expandForward ? backward : forward;
+            IntMinHeap heap = expand.getHeap();
+
+            // Semua vertex sisanya lebih jauh dari rute terbaik; sisi ini selesai
+            if (heap.isEmpty() || heap.peekKey() >= best) {
+                if (expandForward) forwardDone = true;
+                else backwardDone = true;
+                continue;
+            }
+
+            int current = heap.pop();
+            if (expand.settle())
+                return -1;
+            long currentDistance = expand.getDistance(current);
+            expand.relaxed(offsets[current + 1] - offsets[current]);
+
+            long oppositeDistance = opposite.getDistance(current);
+            if (oppositeDistance != Long.MAX_VALUE && currentDistance + oppositeDistance < best) {
+                best = currentDistance + oppositeDistance;
+                meeting = current;
+            }
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = currentDistance + weights[arc];
+                if (newDistance < expand.getDistance(neighbor)) {
+                    expand.update(neighbor, newDistance, current);
+                    expand.pushed();
+                    heap.push(neighbor, newDistance);
+                }
+            }
+        }
+        return meeting;
+    }
+
+    /**
+     * @return panjang rute melalui vertex pertemuan
+     */
+    public long distance(SearchContext forward, SearchContext backward, int meeting) {
+        return forward.getDistance(meeting) + backward.getDistance(meeting);
+    }
+
+    /**
+     * Membentuk rute lengkap berupa vertex asli: rute naik dari kedua sisi
+     * digabung, lalu setiap shortcut dibongkar menjadi dua arc penyusunnya.
+     *
+     * @param forward  context pencarian dari source
+     * @param backward context pencarian dari target
+     * @param meeting  vertex pertemuan hasil {@link #calculateShortestPath}
+     * @return urutan id vertex dari source sampai target
+     */
+    public int[] unpackPath(SearchContext forward, SearchContext backward, int meeting) {
+        int[] packed = BidirectionalDijkstra.path(forward, backward, meeting);
+
+        IntList path = new IntList(packed.length * 2);
+        IntList stack = new IntList(16);
+        path.add(packed[0]);
+
+        for (int i = 0; i + 1 < packed.length; i++) {
+            // Tumpukan berisi pasangan (dari, ke) yang belum dibongkar; diproses dari kiri ke kanan
+            stack.add(packed[i + 1]);
+            stack.add(packed[i]);
+            while (stack.size() > 0) {
+                int from = stack.pop();
+                int to = stack.pop();
+                int middle = middleOf(from, to);
+                if (middle < 0) {
+                    path.add(to);
+                } else {
+                    stack.add(to);
+                    stack.add(middle);
+                    stack.add(middle);
+                    stack.add(from);
+                }
+            }
+        }
+        return path.toArray();
+    }
+
+    /**
+     * Mencari vertex tengah arc antara dua vertex yang bertetangga di hierarki.
+     */
+    private int middleOf(int a, int b) {
+        int lower = rank[a] < rank[b] ? a : b;
+        int higher = lower == a ? b : a;
+        for (int arc = offsets[lower]; arc < offsets[lower + 1]; arc++) {
+            if (targets[arc] == higher)
+                return middles[arc];
+        }
+        throw new IllegalStateException("Arc hierarki tidak ditemukan: " + a + " - " + b);
+    }
+
+    /**
+     * Menyimpan hierarki ke file agar preprocessing tidak perlu diulang.
+     *
+     * @param path lokasi file tujuan
+     * @throws IOException jika file tidak dapat ditulis
+     */
+    public void write(Path path) throws IOException {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(graph.getVertexCount());
+            output.writeInt(targets.length);
+            output.writeLong(fingerprint(graph));
+            writeInts(output, rank);
+            writeInts(output, offsets);
+            writeInts(output, targets);
+            writeInts(output, weights);
+            writeInts(output, middles);
+        }
+    }
+
+    /**
+     * Membaca hierarki yang sebelumnya disimpan dengan {@link #write}.
+     *
+     * @param path  lokasi file
+     * @param graph snapshot graf yang dipakai saat hierarki dibentuk
+     * @return hierarki untuk snapshot tersebut
+     * @throws IOException jika file tidak dapat dibaca atau tidak cocok dengan graf
+     */
+    public static ContractionHierarchy read(Path path, CsrGraph graph) throws IOException {
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION)
+                throw new IOException("Bukan file contraction hierarchy: " + path);
+
+            int vertexCount = input.readInt();
+            int arcCount = input.readInt();
+            long fingerprint = input.readLong();
+            if (vertexCount != graph.getVertexCount() || fingerprint != fingerprint(graph))
+                throw new IOException("Contraction hierarchy dibuat dari graf yang berbeda: " + path);
+
+            // Ukuran file diperiksa sebelum array dialokasikan
+            long expectedBytes = 4L * Integer.BYTES + Long.BYTES
+                    + ((long) vertexCount + vertexCount + 1 + 3L * arcCount) * Integer.BYTES;
+            if (arcCount < 0 || Files.size(path) != expectedBytes)
+                throw new IOException("File contraction hierarchy terpotong atau rusak: " + path);
+
+            int[] rank = readInts(input, vertexCount);
+            int[] offsets = readInts(input, vertexCount + 1);
+            int[] targets = readInts(input, arcCount);
+            int[] weights = readInts(input, arcCount);
+            int[] middles = readInts(input, arcCount);
+
+            String error = checkHierarchy(vertexCount, rank, offsets, targets, middles);
+            if (error != null)
+                throw new IOException("File contraction hierarchy rusak: " + error + ": " + path);
+            return new ContractionHierarchy(graph, rank, offsets, targets, weights, middles);
+        }
+    }
+
+    /**
+     * Memeriksa struktur hierarki dari file: rank berupa permutasi, arc sah
+     * dan selalu naik rank, serta vertex tengah shortcut berada di bawah
+     * kedua ujungnya dan terhubung ke keduanya (sehingga penguraian shortcut
+     * pasti berhenti dan selalu menemukan arc-nya).
+     *
+     * @return pesan kesalahan, atau null jika hierarki sah
+     */
+    private static String checkHierarchy(int vertexCount, int[] rank, int[] offsets, int[] targets, int[] middles) {
+        boolean[] used = new boolean[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (rank[vertex] < 0 || rank[vertex] >= vertexCount || used[rank[vertex]])
+                return "Rank vertex " + vertex + " tidak valid";
+            used[rank[vertex]] = true;
+        }
+
+        String error = CsrGraph.checkAdjacency(vertexCount, offsets, targets);
+        if (error != null)
+            return error;
+
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                if (rank[targets[arc]] <= rank[vertex])
+                    return "Arc " + arc + " tidak menuju rank yang lebih tinggi";
+                int middle = middles[arc];
+                if (middle == -1)
+                    continue;
+                if (middle < 0 || middle >= vertexCount || rank[middle] >= rank[vertex]
+                        || !hasArc(offsets, targets, middle, vertex) || !hasArc(offsets, targets, middle, targets[arc]))
+                    return "Vertex tengah arc " + arc + " tidak valid";
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasArc(int[] offsets, int[] targets, int from, int to) {
+        for (int arc = offsets[from]; arc < offsets[from + 1]; arc++) {
+            if (targets[arc] == to)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Sidik jari isi snapshot untuk memastikan file hierarki cocok dengan graf.
+     */
+    private static long fingerprint(CsrGraph graph) {
+        long hash = graph.getVertexCount();
+        hash = hash * 31 + Arrays.hashCode(graph.getOffsets());
+        hash = hash * 31 + Arrays.hashCode(graph.getTargets());
+        hash = hash * 31 + Arrays.hashCode(graph.getWeights());
+        return hash;
+    }
+
+    private static void writeInts(DataOutputStream output, int[] values) throws IOException {
+        for (int value : values) {
+            output.writeInt(value);
+        }
+    }
+
+    private static int[] readInts(DataInputStream input, int count) throws IOException {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = input.readInt();
+        }
+        return values;
+    }
+
+    /**
+     * Array int yang dapat tumbuh, untuk menghindari boxing pada daftar sementara.
+     */
+    private static class IntList {
+
+        private int[] values;
+
+        private int size;
+
+        IntList(int capacity) {
+            values = new int[Math.max(capacity, 4)];
+        }
+
+        void add(int value) {
+            if (size == values.length)
+                values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int pop() {
+            return values[--size];
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    /**
+     * State preprocessing: graf dinamis (edge asli dan shortcut) serta
+     * urutan kontraksi.
+     */
+    private static class Builder {
+
+        private final CsrGraph graph;
+
+        private final int vertexCount;
+
+        private final int[][] adjacentTargets;
+
+        private final int[][] adjacentWeights;
+
+        private final int[][] adjacentMiddles;
+
+        private final int[] degree;
+
+        private final boolean[] contracted;
+
+        private final int[] contractedNeighbors;
+
+        private final SearchContext witness;
+
+        /**
+         * Tetangga aktif vertex yang sedang dikontraksi beserta bobotnya
+         */
+        private int[] neighborBuffer = new int[16];
+
+        private int[] weightBuffer = new int[16];
+
+        Builder(CsrGraph graph) {
+            this.graph = graph;
+            this.vertexCount = graph.getVertexCount();
+            this.adjacentTargets = new int[vertexCount][];
+            this.adjacentWeights = new int[vertexCount][];
+            this.adjacentMiddles = new int[vertexCount][];
+            this.degree = new int[vertexCount];
+            this.contracted = new boolean[vertexCount];
+            this.contractedNeighbors = new int[vertexCount];
+            this.witness = new SearchContext(vertexCount);
+
+            int[] csrOffsets = graph.getOffsets();
+            int[] csrTargets = graph.getTargets();
+            int[] csrWeights = graph.getWeights();
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                int capacity = Math.max(4, csrOffsets[vertex + 1] - csrOffsets[vertex]);
+                adjacentTargets[vertex] = new int[capacity];
+                adjacentWeights[vertex] = new int[capacity];
+                adjacentMiddles[vertex] = new int[capacity];
+            }
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                for (int arc = csrOffsets[vertex]; arc < csrOffsets[vertex + 1]; arc++) {
+                    if (csrTargets[arc] != vertex)
+                        addOrImprove(vertex, csrTargets[arc], csrWeights[arc], -1);
+                }
+            }
+        }
+
+        ContractionHierarchy build() {
+            IntMinHeap order = new IntMinHeap(vertexCount);
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                order.push(vertex, priority(vertex));
+            }
+
+            int[] rank = new int[vertexCount];
+            int nextRank = 0;
+            while (!order.isEmpty()) {
+                int vertex = order.pop();
+
+                // Lazy update: prioritas dihitung ulang, kontraksi ditunda jika tidak lagi minimum
+                long current = priority(vertex);
+                if (!order.isEmpty() && current > order.peekKey()) {
+                    order.push(vertex, current);
+                    continue;
+                }
+
+                contract(vertex, false);
+                rank[vertex] = nextRank++;
+            }
+
+            return toHierarchy(rank);
+        }
+
+        private long priority(int vertex) {
+            int activeNeighbors = collectNeighbors(vertex);
+            int shortcuts = contract(vertex, true);
+            return (long) shortcuts - activeNeighbors + contractedNeighbors[vertex];
+        }
+
+        /**
+         * Menyimpan tetangga yang belum dikontraksi ke buffer.
+         *
+         * @return jumlah tetangga aktif
+         */
+        private int collectNeighbors(int vertex) {
+            int count = 0;
+            for (int i = 0; i < degree[vertex]; i++) {
+                int neighbor = adjacentTargets[vertex][i];
+                if (contracted[neighbor])
+                    continue;
+                if (count == neighborBuffer.length) {
+                    neighborBuffer = Arrays.copyOf(neighborBuffer, count * 2);
+                    weightBuffer = Arrays.copyOf(weightBuffer, count * 2);
+                }
+                neighborBuffer[count] = neighbor;
+                weightBuffer[count] = adjacentWeights[vertex][i];
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Mengontraksi vertex, atau hanya menghitung jumlah shortcut yang
+         * dibutuhkan jika {@code simulate} bernilai true.
+         *
+         * @return jumlah shortcut
+         */
+        private int contract(int vertex, boolean simulate) {
+            int count = collectNeighbors(vertex);
+            int[] neighbors = Arrays.copyOf(neighborBuffer, count);
+            int[] viaWeights = Arrays.copyOf(weightBuffer, count);
+
+            int shortcuts = 0;
+            for (int i = 0; i < count - 1; i++) {
+                long limit = 0;
+                for (int j = i + 1; j < count; j++) {
+                    limit = Math.max(limit, (long) viaWeights[i] + viaWeights[j]);
+                }
+
+                witnessSearch(neighbors[i], vertex, limit,
+                        simulate ? SIMULATION_SETTLE_LIMIT : CONTRACTION_SETTLE_LIMIT);
+
+                for (int j = i + 1; j < count; j++) {
+                    long viaDistance = (long) viaWeights[i] + viaWeights[j];
+                    if (witness.getDistance(neighbors[j]) <= viaDistance)
+                        continue;
+
+                    shortcuts++;
+                    if (!simulate) {
+                        int weight = (int) Math.min(viaDistance, Integer.MAX_VALUE);
+                        addOrImprove(neighbors[i], neighbors[j], weight, vertex);
+                        addOrImprove(neighbors[j], neighbors[i], weight, vertex);
+                    }
+                }
+            }
+
+            if (!simulate) {
+                contracted[vertex] = true;
+                for (int neighbor : neighbors) {
+                    contractedNeighbors[neighbor]++;
+                }
+            }
+            return shortcuts;
+        }
+
+        /**
+         * Dijkstra lokal dari {@code source} yang tidak melewati {@code excluded}
+         * maupun vertex yang sudah dikontraksi, dibatasi jarak dan jumlah vertex settled.
+         */
+        private void witnessSearch(int source, int excluded, long maxDistance, int settleLimit) {
+            witness.begin();
+            IntMinHeap heap = witness.getHeap();
+            witness.update(source, 0, -1);
+            heap.push(source, 0);
+
+            int settled = 0;
+            while (!heap.isEmpty() && heap.peekKey() <= maxDistance && settled++ < settleLimit) {
+                int current = heap.pop();
+                long currentDistance = witness.getDistance(current);
+
+                for (int i = 0; i < degree[current]; i++) {
+                    int neighbor = adjacentTargets[current][i];
+                    if (neighbor == excluded || contracted[neighbor])
+                        continue;
+
+                    long newDistance = currentDistance + adjacentWeights[current][i];
+                    if (newDistance <= maxDistance && newDistance < witness.getDistance(neighbor)) {
+                        witness.update(neighbor, newDistance, current);
+                        heap.push(neighbor, newDistance);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Menambahkan arc {@code from -> to}, atau memperbaiki bobotnya jika
+         * arc sudah ada dengan bobot lebih besar.
+         */
+        private void addOrImprove(int from, int to, int weight, int middle) {
+            int[] targets = adjacentTargets[from];
+            for (int i = 0; i < degree[from]; i++) {
+                if (targets[i] == to) {
+                    if (weight < adjacentWeights[from][i]) {
+                        adjacentWeights[from][i] = weight;
+                        adjacentMiddles[from][i] = middle;
+                    }
+                    return;
+                }
+            }
+
+            if (degree[from] == targets.length) {
+                int capacity = targets.length * 2;
+                adjacentTargets[from] = Arrays.copyOf(targets, capacity);
+                adjacentWeights[from] = Arrays.copyOf(adjacentWeights[from], capacity);
+                adjacentMiddles[from] = Arrays.copyOf(adjacentMiddles[from], capacity);
+            }
+            int index = degree[from]++;
+            adjacentTargets[from][index] = to;
+            adjacentWeights[from][index] = weight;
+            adjacentMiddles[from][index] = middle;
+        }
+
+        /**
+         * Menyusun graf naik: hanya arc menuju vertex dengan rank lebih tinggi.
+         */
+        private ContractionHierarchy toHierarchy(int[] rank) {
+            int[] offsets = new int[vertexCount + 1];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                int upward = 0;
+                for (int i = 0; i < degree[vertex]; i++) {
+                    if (rank[adjacentTargets[vertex][i]] > rank[vertex])
+                        upward++;
+                }
+                offsets[vertex + 1] = offsets[vertex] + upward;
+            }
+
+            int[] targets = new int[offsets[vertexCount]];
+            int[] weights = new int[targets.length];
+            int[] middles = new int[targets.length];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                int arc = offsets[vertex];
+                for (int i = 0; i < degree[vertex]; i++) {
+                    if (rank[adjacentTargets[vertex][i]] > rank[vertex]) {
+                        targets[arc] = adjacentTargets[vertex][i];
+                        weights[arc] = adjacentWeights[vertex][i];
+                        middles[arc] = adjacentMiddles[vertex][i];
+                        arc++;
+                    }
+                }
+            }
+            return new ContractionHierarchy(graph, rank, offsets, targets, weights, middles);
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.tubespjmfkel2.algorithm;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
-import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
 
+import com.tubespjmfkel2.domain.CsrGraph;
 import com.tubespjmfkel2.domain.Edge;
 import com.tubespjmfkel2.domain.Vertex;
 
@@ -22,16 +23,472 @@ import com.tubespjmfkel2.domain.Vertex;
  * <li>Memindahkan vertex tersebut ke dalam himpunan yang telah diproses</li>
  * <li>Mengulangi hingga seluruh vertex selesai diproses</li>
  * </ul>
+ * <p>
+ * Pemilihan vertex berikutnya dapat dilakukan dengan dua cara (lihat
+ * {@link SelectionMode}): binary heap (default, O((V + E) log V)) atau
+ * pemindaian linear seperti implementasi awal (O(V^2)) yang dipertahankan
+ * sebagai mode referensi untuk membandingkan hasil.
+ * <p>
+ * Selain versi berbasis objek {@link Vertex}, tersedia versi yang berjalan
+ * di atas snapshot {@link CsrGraph} menggunakan array primitif untuk jarak
+ * dan predecessor, tanpa objek per vertex.
  */
 public class Dijkstra {
 
+    /**
+     * Cara memilih vertex dengan jarak sementara terkecil pada setiap langkah.
+     */
+    public enum SelectionMode {
+        /**
+         * Memindai seluruh himpunan unsettled pada setiap langkah (implementasi referensi).
+         */
+        LINEAR_SCAN,
+        /**
+         * Menggunakan {@link PriorityQueue} dengan lazy deletion: entri yang
+         * jaraknya sudah usang dilewati saat diambil dari antrian.
+         */
+        BINARY_HEAP
+    }
+
+    /**
+     * Entri antrian prioritas. Jarak disalin saat entri dibuat karena jarak
+     * pada {@link Vertex} dapat berubah setelah entri masuk ke antrian.
+     */
+    private record QueueEntry(Vertex vertex, int distance) {
+    }
+
+    /**
+     * Bobot edge maksimum yang masih memakai {@link BucketQueue}
+     */
+    private static final int BUCKET_QUEUE_MAX_WEIGHT = 4096;
+
     /**
      * Menjalankan algoritma Dijkstra untuk menghitung jarak terpendek
-     * dari vertex sumber (source) menuju seluruh vertex dalam graph.
+     * dari vertex sumber (source) menuju seluruh vertex dalam graph
+     * menggunakan mode {@link SelectionMode#BINARY_HEAP}.
      *
      * @param source vertex awal (jarak awal = 0).
      */
     public static void calculateShortestPathFromSource(Vertex source) {
+        calculateShortestPathFromSource(source, SelectionMode.BINARY_HEAP);
+    }
+
+    /**
+     * Menjalankan algoritma Dijkstra dengan mode pemilihan vertex tertentu.
+     *
+     * @param source vertex awal (jarak awal = 0).
+     * @param mode   cara memilih vertex berikutnya
+     */
+    public static void calculateShortestPathFromSource(Vertex source, SelectionMode mode) {
+        if (mode == SelectionMode.LINEAR_SCAN) {
+            calculateWithLinearScan(source);
+        } else {
+            calculateWithBinaryHeap(source, null, Integer.MAX_VALUE);
+        }
+    }
+
+    /**
+     * Pencarian point-to-point: berhenti segera setelah vertex tujuan
+     * settled, sehingga tidak seluruh komponen graf perlu diproses.
+     * Vertex dengan jarak melebihi {@code maxDistance} tidak direlaksasi,
+     * sehingga pencarian juga berhenti setelah radius tersebut habis.
+     * <p>
+     * Setelah method selesai, jarak vertex tujuan bernilai
+     * {@link Integer#MAX_VALUE} jika tujuan tidak terjangkau dalam radius.
+     *
+     * @param source      vertex awal
+     * @param target      vertex tujuan
+     * @param maxDistance batas jarak pencarian ({@link Integer#MAX_VALUE} untuk tanpa batas)
+     */
+    public static void calculateShortestPath(Vertex source, Vertex target, int maxDistance) {
+        calculateWithBinaryHeap(source, target, maxDistance);
+    }
+
+    /**
+     * Menjalankan algoritma Dijkstra di atas snapshot CSR. Hasil ditulis ke
+     * array milik pemanggil.
+     *
+     * @param graph       snapshot graf
+     * @param source      id vertex awal
+     * @param distance    array jarak (panjang minimal jumlah vertex); vertex yang
+     *                    tidak terjangkau bernilai {@link Long#MAX_VALUE}
+     * @param predecessor array predecessor (panjang minimal jumlah vertex); -1
+     *                    untuk vertex awal dan vertex yang tidak terjangkau
+     */
+    public static void calculateShortestPathFromSource(
+            CsrGraph graph,
+            int source,
+            long[] distance,
+            int[] predecessor) {
+        calculateShortestPath(graph, source, -1, Long.MAX_VALUE, distance, predecessor);
+    }
+
+    /**
+     * Versi point-to-point dari pencarian di atas snapshot CSR dengan hasil
+     * ditulis ke array milik pemanggil.
+     *
+     * @param graph       snapshot graf
+     * @param source      id vertex awal
+     * @param target      id vertex tujuan, atau -1 untuk menghitung seluruh vertex
+     * @param maxDistance batas jarak pencarian ({@link Long#MAX_VALUE} untuk tanpa batas)
+     * @param distance    array jarak; vertex di luar radius bernilai {@link Long#MAX_VALUE}
+     * @param predecessor array predecessor
+     * @see #calculateShortestPath(CsrGraph, SearchContext, int, int, long)
+     */
+    public static void calculateShortestPath(
+            CsrGraph graph,
+            int source,
+            int target,
+            long maxDistance,
+            long[] distance,
+            int[] predecessor) {
+
+        SearchContext context = new SearchContext(graph.getVertexCount());
+        calculateShortestPath(graph, context, source, target, maxDistance);
+
+        for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+            distance[vertex] = context.getDistance(vertex);
+            predecessor[vertex] = context.getPredecessor(vertex);
+        }
+    }
+
+    /**
+     * Versi point-to-point dari pencarian di atas snapshot CSR. Pencarian
+     * berhenti ketika {@code target} settled atau ketika seluruh vertex
+     * dalam radius {@code maxDistance} sudah diproses.
+     * <p>
+     * Seluruh state pencarian disimpan di {@code context}, bukan di graf,
+     * sehingga banyak thread dapat mencari pada snapshot yang sama secara
+     * bersamaan asalkan masing-masing memakai context sendiri.
+     *
+     * @param graph       snapshot graf
+     * @param context     state pencarian (kapasitas minimal jumlah vertex)
+     * @param source      id vertex awal
+     * @param target      id vertex tujuan, atau -1 untuk menghitung seluruh vertex
+     * @param maxDistance batas jarak pencarian ({@link Long#MAX_VALUE} untuk tanpa batas)
+     * @see #chooseFrontier(CsrGraph)
+     */
+    public static void calculateShortestPath(
+            CsrGraph graph,
+            SearchContext context,
+            int source,
+            int target,
+            long maxDistance) {
+        calculateShortestPath(graph, context, source, target, maxDistance, chooseFrontier(graph));
+    }
+
+    /**
+     * Sama dengan {@link #calculateShortestPath(CsrGraph, SearchContext, int, int, long)}
+     * dengan jenis antrian prioritas yang ditentukan pemanggil. Jika context
+     * memiliki {@link SearchMonitor}, pencarian berhenti lebih awal saat dibatalkan.
+     *
+     * @param graph        snapshot graf
+     * @param context      state pencarian (kapasitas minimal jumlah vertex)
+     * @param source       id vertex awal
+     * @param target       id vertex tujuan, atau -1 untuk menghitung seluruh vertex
+     * @param maxDistance  batas jarak pencarian ({@link Long#MAX_VALUE} untuk tanpa batas)
+     * @param frontierType jenis antrian prioritas
+     */
+    public static void calculateShortestPath(
+            CsrGraph graph,
+            SearchContext context,
+            int source,
+            int target,
+            long maxDistance,
+            Frontier.Type frontierType) {
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        context.begin();
+        Frontier frontier = context.getFrontier(frontierType, graph.getMaxWeight());
+
+        context.update(source, 0, -1);
+        frontier.push(source, 0);
+
+        while (!frontier.isEmpty()) {
+            long key = frontier.peekKey();
+            int current = frontier.pop();
+            // Entri lama pada antrian lazy: jarak vertex sudah membaik setelah entri dibuat
+            if (key > context.getDistance(current))
+                continue;
+            if (current == target || context.settle())
+                return;
+
+            long currentDistance = context.getDistance(current);
+            context.relaxed(offsets[current + 1] - offsets[current]);
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = currentDistance + weights[arc];
+
+                // Vertex yang sudah settled tidak akan pernah lolos perbandingan ini
+                if (newDistance < context.getDistance(neighbor) && newDistance <= maxDistance) {
+                    context.update(neighbor, newDistance, current);
+                    context.pushed();
+                    frontier.push(neighbor, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Mencari {@code k} vertex berkategori tertentu yang paling dekat dari
+     * {@code source}. Karena vertex keluar dari heap berurutan menurut
+     * jaraknya, pencarian dapat berhenti segera setelah vertex berkategori
+     * ke-k settled, tanpa memproses sisa graf.
+     *
+     * @param graph       snapshot graf
+     * @param context     state pencarian; rute ke setiap hasil dapat dibaca melalui {@link SearchContext#pathTo}
+     * @param source      id vertex awal (ikut dihitung jika berkategori sama)
+     * @param category    id kategori dari {@link CsrGraph#categoryIdOf}
+     * @param k           jumlah hasil maksimum
+     * @param maxDistance batas jarak pencarian ({@link Long#MAX_VALUE} untuk tanpa batas)
+     * @param found       penampung id vertex hasil, urut dari yang terdekat (panjang minimal k)
+     * @return jumlah vertex yang ditemukan
+     */
+    public static int findNearest(
+            CsrGraph graph,
+            SearchContext context,
+            int source,
+            int category,
+            int k,
+            long maxDistance,
+            int[] found) {
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        context.begin();
+        Frontier frontier = context.getFrontier(chooseFrontier(graph), graph.getMaxWeight());
+
+        context.update(source, 0, -1);
+        frontier.push(source, 0);
+
+        int count = 0;
+        while (count < k && !frontier.isEmpty()) {
+            long key = frontier.peekKey();
+            int current = frontier.pop();
+            // Entri lama pada antrian lazy: jarak vertex sudah membaik setelah entri dibuat
+            if (key > context.getDistance(current))
+                continue;
+            if (context.settle())
+                break;
+            if (graph.getCategory(current) == category) {
+                found[count++] = current;
+                if (count == k)
+                    break;
+            }
+
+            long currentDistance = context.getDistance(current);
+            context.relaxed(offsets[current + 1] - offsets[current]);
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = currentDistance + weights[arc];
+
+                if (newDistance < context.getDistance(neighbor) && newDistance <= maxDistance) {
+                    context.update(neighbor, newDistance, current);
+                    context.pushed();
+                    frontier.push(neighbor, newDistance);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Pencarian one-to-many: berhenti segera setelah seluruh vertex yang
+     * ditandai {@code isTarget} settled. Setelah method selesai, jarak setiap
+     * target dapat dibaca dari {@code context} (bernilai {@link Long#MAX_VALUE}
+     * jika tidak terjangkau); jarak vertex lain belum tentu final.
+     *
+     * @param graph       snapshot graf
+     * @param context     state pencarian
+     * @param source      id vertex awal
+     * @param isTarget    penanda vertex target, diindeks dengan id vertex
+     * @param targetCount jumlah vertex berbeda yang ditandai pada {@code isTarget}
+     */
+    public static void calculateShortestPathToTargets(
+            CsrGraph graph,
+            SearchContext context,
+            int source,
+            boolean[] isTarget,
+            int targetCount) {
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        context.begin();
+        Frontier frontier = context.getFrontier(chooseFrontier(graph), graph.getMaxWeight());
+
+        context.update(source, 0, -1);
+        frontier.push(source, 0);
+
+        int remaining = targetCount;
+        while (!frontier.isEmpty()) {
+            long key = frontier.peekKey();
+            int current = frontier.pop();
+            // Entri lama pada antrian lazy: jarak vertex sudah membaik setelah entri dibuat
+            if (key > context.getDistance(current))
+                continue;
+            if (context.settle())
+                return;
+            if (isTarget[current] && --remaining == 0)
+                return;
+
+            long currentDistance = context.getDistance(current);
+            context.relaxed(offsets[current + 1] - offsets[current]);
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = currentDistance + weights[arc];
+
+                if (newDistance < context.getDistance(neighbor)) {
+                    context.update(neighbor, newDistance, current);
+                    context.pushed();
+                    frontier.push(neighbor, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Dijkstra multi-source: seluruh {@code sources} dimulai dengan jarak 0
+     * dalam satu pencarian, sehingga setiap vertex mendapatkan sumber
+     * terdekatnya (partisi Voronoi pada graf). Biayanya sama dengan satu
+     * pencarian single-source, berapa pun jumlah sumbernya.
+     *
+     * @param graph         snapshot graf
+     * @param sources       id vertex sumber
+     * @param distance      output jarak ke sumber terdekat ({@link Integer#MAX_VALUE} jika tidak terjangkau)
+     * @param nearestSource output id vertex sumber terdekat (-1 jika tidak terjangkau)
+     */
+    public static void calculateNearestSource(
+            CsrGraph graph,
+            int[] sources,
+            int[] distance,
+            int[] nearestSource) {
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        Arrays.fill(distance, 0, graph.getVertexCount(), Integer.MAX_VALUE);
+        Arrays.fill(nearestSource, 0, graph.getVertexCount(), -1);
+
+        Frontier frontier = newFrontier(graph);
+        for (int source : sources) {
+            distance[source] = 0;
+            nearestSource[source] = source;
+            frontier.push(source, 0);
+        }
+
+        while (!frontier.isEmpty()) {
+            long key = frontier.peekKey();
+            int current = frontier.pop();
+            if (key > distance[current])
+                continue;
+            int currentDistance = distance[current];
+            int currentSource = nearestSource[current];
+
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                long newDistance = (long) currentDistance + weights[arc];
+
+                if (newDistance < distance[neighbor]) {
+                    distance[neighbor] = (int) newDistance;
+                    nearestSource[neighbor] = currentSource;
+                    frontier.push(neighbor, newDistance);
+                }
+            }
+        }
+    }
+
+    /**
+     * Memilih antrian prioritas berdasarkan bobot edge maksimum graf. Untuk
+     * bobot kecil, bucket queue (Dial) hampir tanpa biaya per operasi; untuk
+     * bobot yang lebih besar, pemindaian bucket kosong menjadi mahal sehingga
+     * radix heap dipakai. Keduanya memanfaatkan prioritas Dijkstra yang monoton.
+     *
+     * @param graph snapshot graf
+     * @return jenis antrian yang dipakai secara default
+     */
+    public static Frontier.Type chooseFrontier(CsrGraph graph) {
+        return graph.getMaxWeight() <= BUCKET_QUEUE_MAX_WEIGHT
+                ? Frontier.Type.BUCKET_QUEUE
+                : Frontier.Type.RADIX_HEAP;
+    }
+
+    /**
+     * Membuat antrian baru untuk pencarian yang tidak memakai {@link SearchContext}.
+     */
+    private static Frontier newFrontier(CsrGraph graph) {
+        return switch (chooseFrontier(graph)) {
+            case BUCKET_QUEUE -> new BucketQueue(graph.getVertexCount(), graph.getMaxWeight());
+            case RADIX_HEAP -> new RadixHeap();
+            case BINARY_HEAP -> new IntMinHeap(graph.getVertexCount());
+        };
+    }
+
+    /**
+     * Versi binary heap: setiap vertex yang jaraknya membaik dimasukkan ulang
+     * ke antrian, dan entri lama dilewati ketika diambil (lazy deletion).
+     *
+     * @param source      vertex awal
+     * @param target      vertex tujuan untuk berhenti lebih awal, atau null
+     * @param maxDistance batas jarak relaksasi
+     */
+    private static void calculateWithBinaryHeap(Vertex source, Vertex target, int maxDistance) {
+
+        source.setDistance(0);
+
+        Set<Vertex> settledVertices = new HashSet<>();
+        PriorityQueue<QueueEntry> queue = new PriorityQueue<>(
+                (a, b) -> Integer.compare(a.distance(), b.distance()));
+
+        queue.add(new QueueEntry(source, 0));
+
+        while (!queue.isEmpty()) {
+
+            QueueEntry entry = queue.poll();
+            Vertex currentVertex = entry.vertex();
+
+            // Entri usang: vertex sudah final atau jaraknya sudah diperbaiki setelah entri ini dibuat
+            if (settledVertices.contains(currentVertex) || entry.distance() > currentVertex.getDistance())
+                continue;
+
+            settledVertices.add(currentVertex);
+
+            // Tujuan sudah final, sisa graf tidak perlu diproses
+            if (currentVertex == target)
+                return;
+
+            for (Edge edge : currentVertex.getNeighbors()) {
+
+                Vertex neighbor = edge.getOpposite(currentVertex);
+
+                if (settledVertices.contains(neighbor))
+                    continue;
+
+                int newDistance = currentVertex.getDistance() + edge.getWeight();
+                if (newDistance < neighbor.getDistance() && newDistance <= maxDistance) {
+                    calculateMinimumDistance(neighbor, edge.getWeight(), currentVertex);
+                    queue.add(new QueueEntry(neighbor, newDistance));
+                }
+            }
+        }
+    }
+
+    /**
+     * Versi referensi dengan pemindaian linear terhadap himpunan unsettled.
+     *
+     * @param source vertex awal
+     */
+    private static void calculateWithLinearScan(Vertex source) {
 
         // Set jarak vertex sumber menjadi 0 (titik awal perjalanan)
         source.setDistance(0);
@@ -112,7 +569,9 @@ public class Dijkstra {
     /**
      * Melakukan proses relaksasi jarak terhadap vertex tetangga.
      * Jika jarak (distance) baru lebih kecil dari jarak sebelumnya,
-     * maka jarak vertex di-update serta jalur terpendek diperbarui.
+     * maka jarak vertex di-update dan predecessor-nya diarahkan ke
+     * vertex saat ini. Rute lengkap dibentuk sekali di akhir dengan
+     * menelusuri predecessor dari vertex tujuan.
      *
      * @param evaluationVertex vertex tetangga yang sedang dievaluasi
      * @param edgeWeight       bobot edge dari sumber menuju vertex tetangga
@@ -130,11 +589,8 @@ public class Dijkstra {
 
             evaluationVertex.setDistance(sourceDistance + edgeWeight);
 
-            // Salin path dari sumber dan tambahkan vertex saat ini
-            List<Vertex> shortestPath = new ArrayList<>(currentVertex.getShortestPath());
-            shortestPath.add(currentVertex);
-
-            evaluationVertex.setShortestPath(shortestPath);
+            // Cukup simpan parent pointer, tanpa menyalin path
+            evaluationVertex.setPrevious(currentVertex);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,184 @@
+package com.tubespjmfkel2.algorithm;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Memperbaiki pohon rute terpendek setelah beberapa edge berubah, tanpa
+ * menghitung ulang seluruh graf (pendekatan Ramalingam-Reps).
+ * <p>
+ * Langkah perbaikan:
+ * <ol>
+ * <li>Edge pohon yang bobotnya naik atau dihapus membuat subtree di bawahnya
+ * tidak valid. Seluruh vertex pada subtree tersebut ditandai dengan satu kali
+ * pemindaian parent O(V), lalu jaraknya dihapus.</li>
+ * <li>Setiap vertex yang tidak valid mendapatkan jarak sementara dari
+ * tetangga yang masih valid.</li>
+ * <li>Ujung edge yang bobotnya turun (atau edge baru) direlaksasi.</li>
+ * <li>Dijkstra dijalankan hanya dari vertex yang jaraknya berubah, sehingga
+ * bagian graf yang tidak terpengaruh tidak diproses ulang.</li>
+ * </ol>
+ */
+public class DynamicShortestPath {
+
+    /**
+     * Nilai jarak untuk vertex yang tidak terjangkau
+     */
+    private static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private static final byte UNKNOWN = 0;
+
+    private static final byte AFFECTED = 1;
+
+    private static final byte VALID = 2;
+
+    /**
+     * Memperbaiki pohon secara in-place agar sesuai dengan {@code graph}.
+     * Himpunan vertex graf harus sama dengan saat pohon dihitung.
+     *
+     * @param graph     snapshot graf setelah perubahan
+     * @param context   context pinjaman; hanya heap-nya yang dipakai
+     * @param source    id vertex awal pohon
+     * @param distances jarak setiap vertex ({@link Long#MAX_VALUE} jika tidak terjangkau)
+     * @param parents   parent setiap vertex pada pohon (-1 untuk awal dan vertex tak terjangkau)
+     * @param changed   pasangan id ujung edge yang berubah: {@code [u0, v0, u1, v1, ...]}
+     * @return jumlah vertex tidak valid yang jaraknya dihitung ulang karena bobot naik
+     */
+    public static int repair(
+            CsrGraph graph,
+            SearchContext context,
+            int source,
+            long[] distances,
+            int[] parents,
+            int[] changed) {
+
+        int vertexCount = graph.getVertexCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        byte[] state = new byte[vertexCount];
+
+        // 1. Akar subtree yang tidak valid: anak pada edge pohon yang kini lebih mahal
+        boolean anyAffected = false;
+        for (int i = 0; i < changed.length; i += 2) {
+            anyAffected |= markIfLonger(graph, distances, parents, state, changed[i], changed[i + 1]);
+            anyAffected |= markIfLonger(graph, distances, parents, state, changed[i + 1], changed[i]);
+        }
+
+        int affectedCount = 0;
+        if (anyAffected)
+            affectedCount = markSubtrees(parents, state, source);
+
+        context.begin();
+        IntMinHeap heap = context.getHeap();
+
+        // 2. Jarak sementara untuk vertex tidak valid dari tetangga yang masih valid
+        if (affectedCount > 0) {
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (state[vertex] == AFFECTED) {
+                    distances[vertex] = UNREACHABLE;
+                    parents[vertex] = -1;
+                }
+            }
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (state[vertex] != AFFECTED)
+                    continue;
+                for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                    int neighbor = targets[arc];
+                    if (state[neighbor] != AFFECTED && distances[neighbor] != UNREACHABLE)
+                        relax(distances, parents, heap, neighbor, vertex, weights[arc]);
+                }
+            }
+        }
+
+        // 3. Edge yang lebih murah atau baru dapat memperpendek rute
+        for (int i = 0; i < changed.length; i += 2) {
+            relaxEdge(graph, distances, parents, heap, changed[i], changed[i + 1]);
+            relaxEdge(graph, distances, parents, heap, changed[i + 1], changed[i]);
+        }
+
+        // 4. Sebarkan perubahan jarak seperti Dijkstra biasa
+        while (!heap.isEmpty()) {
+            int current = heap.pop();
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                relax(distances, parents, heap, current, targets[arc], weights[arc]);
+            }
+        }
+
+        return affectedCount;
+    }
+
+    /**
+     * Menandai {@code child} jika edge pohon parent-child tidak lagi mendukung jaraknya.
+     */
+    private static boolean markIfLonger(
+            CsrGraph graph, long[] distances, int[] parents, byte[] state, int parent, int child) {
+        if (parents[child] != parent)
+            return false;
+
+        long viaEdge = distances[parent] + graph.getEdgeWeight(parent, child);
+        if (viaEdge <= distances[child])
+            return false;
+
+        state[child] = AFFECTED;
+        return true;
+    }
+
+    /**
+     * Menandai seluruh keturunan akar yang tidak valid. Setiap vertex dinaikkan
+     * melalui parent sampai menemukan vertex yang statusnya sudah diketahui,
+     * lalu status tersebut diberikan ke seluruh jalur, sehingga totalnya O(V).
+     *
+     * @return jumlah vertex yang tidak valid
+     */
+    private static int markSubtrees(int[] parents, byte[] state, int source) {
+        if (state[source] == UNKNOWN)
+            state[source] = VALID;
+
+        int[] stack = new int[parents.length];
+        int affectedCount = 0;
+        for (int vertex = 0; vertex < parents.length; vertex++) {
+            int size = 0;
+            int current = vertex;
+            while (state[current] == UNKNOWN) {
+                stack[size++] = current;
+                if (parents[current] < 0) {
+                    // Vertex tak terjangkau tidak memiliki subtree yang perlu dihapus
+                    state[current] = VALID;
+                    size--;
+                    break;
+                }
+                current = parents[current];
+            }
+
+            byte result = state[current];
+            while (size > 0) {
+                state[stack[--size]] = result;
+            }
+        }
+
+        for (byte vertexState : state) {
+            if (vertexState == AFFECTED)
+                affectedCount++;
+        }
+        return affectedCount;
+    }
+
+    private static void relaxEdge(
+            CsrGraph graph, long[] distances, int[] parents, IntMinHeap heap, int from, int to) {
+        if (distances[from] == UNREACHABLE)
+            return;
+        int weight = graph.getEdgeWeight(from, to);
+        if (weight != Integer.MAX_VALUE)
+            relax(distances, parents, heap, from, to, weight);
+    }
+
+    private static void relax(long[] distances, int[] parents, IntMinHeap heap, int from, int to, int weight) {
+        long newDistance = distances[from] + weight;
+        if (newDistance < distances[to]) {
+            distances[to] = newDistance;
+            parents[to] = from;
+            heap.push(to, newDistance);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.tubespjmfkel2.algorithm;
+
+/**
+ * Antrian prioritas vertex untuk pencarian Dijkstra di atas
+ * {@link com.tubespjmfkel2.domain.CsrGraph}.
+ * <p>
+ * Implementasi boleh menyimpan entri lama ketika prioritas sebuah vertex
+ * diturunkan (lazy deletion). Karena itu pemanggil membaca
+ * {@link #peekKey()} sebelum {@link #pop()} dan melewati vertex yang
+ * jaraknya sudah lebih kecil dari prioritas entri tersebut.
+ */
+public interface Frontier {
+
+    /**
+     * Jenis antrian yang tersedia.
+     */
+    enum Type {
+        /**
+         * {@link IntMinHeap}: O(log V) per operasi, untuk bobot berapa pun
+         */
+        BINARY_HEAP,
+        /**
+         * {@link RadixHeap}: O(log C) amortized, hanya untuk prioritas monoton
+         */
+        RADIX_HEAP,
+        /**
+         * {@link BucketQueue} (algoritma Dial): O(1) per operasi ditambah
+         * pemindaian bucket kosong, untuk bobot maksimum yang kecil
+         */
+        BUCKET_QUEUE
+    }
+
+    boolean isEmpty();
+
+    /**
+     * @return jumlah entri, termasuk entri lama pada implementasi lazy
+     */
+    int size();
+
+    /**
+     * Memasukkan vertex dengan prioritas tertentu, atau menurunkan prioritasnya.
+     *
+     * @param vertex id vertex
+     * @param key    prioritas (jarak sementara)
+     */
+    void push(int vertex, long key);
+
+    /**
+     * @return prioritas terkecil di dalam antrian
+     */
+    long peekKey();
+
+    /**
+     * Mengambil dan menghapus vertex dengan prioritas terkecil.
+     *
+     * @return id vertex
+     */
+    int pop();
+
+    /**
+     * Mengosongkan antrian agar dapat dipakai untuk pencarian berikutnya.
+     */
+    void clear();
+}
@@ -0,0 +1,22 @@
+package com.tubespjmfkel2.algorithm;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Perkiraan sisa jarak dari sebuah vertex ke vertex tujuan untuk {@link AStar}.
+ * <p>
+ * Agar hasil A* tetap optimal, perkiraan harus admissible: tidak pernah
+ * lebih besar dari jarak terpendek sebenarnya. Implementasi bawaan tersedia
+ * di {@link Heuristics}.
+ */
+@FunctionalInterface
+public interface Heuristic {
+
+    /**
+     * @param graph  snapshot graf
+     * @param vertex id vertex yang sedang dievaluasi
+     * @param target id vertex tujuan
+     * @return batas bawah jarak dari {@code vertex} ke {@code target}
+     */
+    long estimate(CsrGraph graph, int vertex, int target);
+}
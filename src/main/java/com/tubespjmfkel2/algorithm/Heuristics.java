@@ -0,0 +1,71 @@
+package com.tubespjmfkel2.algorithm;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Kumpulan {@link Heuristic} bawaan. Heuristik berbasis koordinat bernilai
+ * 0 untuk vertex yang tidak memiliki koordinat, sehingga tetap admissible
+ * pada graf yang hanya sebagian vertex-nya berkoordinat.
+ */
+public class Heuristics {
+
+    /**
+     * Radius rata-rata bumi dalam kilometer
+     */
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private Heuristics() {
+    }
+
+    /**
+     * Heuristik nol: A* berperilaku sama seperti Dijkstra.
+     *
+     * @return heuristik yang selalu bernilai 0
+     */
+    public static Heuristic zero() {
+        return (graph, vertex, target) -> 0;
+    }
+
+    /**
+     * Jarak garis lurus pada bidang datar dikali {@code scale}. Admissible jika
+     * setiap bobot edge tidak lebih kecil dari panjang garis lurus antara kedua
+     * ujungnya setelah dikali {@code scale}.
+     *
+     * @param scale faktor konversi satuan koordinat ke satuan bobot edge
+     * @return heuristik Euclidean
+     */
+    public static Heuristic euclidean(double scale) {
+        return (graph, vertex, target) -> {
+            if (!graph.hasCoordinates(vertex) || !graph.hasCoordinates(target))
+                return 0;
+            double dx = graph.getX(vertex) - graph.getX(target);
+            double dy = graph.getY(vertex) - graph.getY(target);
+            return (long) Math.floor(Math.sqrt(dx * dx + dy * dy) * scale);
+        };
+    }
+
+    /**
+     * Jarak lingkaran besar dalam kilometer, dengan koordinat x sebagai bujur
+     * dan y sebagai lintang (derajat). Admissible jika bobot edge dalam km.
+     *
+     * @return heuristik haversine
+     */
+    public static Heuristic haversine() {
+        return (graph, vertex, target) -> {
+            if (!graph.hasCoordinates(vertex) || !graph.hasCoordinates(target))
+                return 0;
+            return (long) Math.floor(haversineKm(graph, vertex, target));
+        };
+    }
+
+    private static double haversineKm(CsrGraph graph, int a, int b) {
+        double lat1 = Math.toRadians(graph.getY(a));
+        double lat2 = Math.toRadians(graph.getY(b));
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(graph.getX(b) - graph.getX(a));
+
+        double h = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(h)));
+    }
+}
@@ -0,0 +1,143 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap berindeks untuk id vertex bertipe {@code int} dengan
+ * prioritas {@code long}. Setiap vertex hanya muncul sekali di dalam heap
+ * sehingga perbaikan jarak dilakukan dengan operasi decrease-key, bukan
+ * dengan memasukkan entri baru.
+ * <p>
+ * Seluruh penyimpanan berupa array primitif yang dialokasikan sekali
+ * sesuai jumlah vertex, sehingga heap dapat dipakai ulang antar pencarian
+ * tanpa alokasi objek.
+ */
+public class IntMinHeap implements Frontier {
+
+    private final int[] heap;
+
+    /**
+     * Posisi setiap vertex di dalam {@link #heap}, atau -1 jika tidak ada.
+     */
+    private final int[] position;
+
+    private final long[] keys;
+
+    private int size;
+
+    /**
+     * @param capacity jumlah vertex maksimum (id vertex berada pada 0..capacity-1)
+     */
+    public IntMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Memasukkan vertex dengan prioritas tertentu, atau menurunkan
+     * prioritasnya jika vertex sudah berada di dalam heap.
+     *
+     * @param vertex id vertex
+     * @param key    prioritas (jarak sementara)
+     */
+    @Override
+    public void push(int vertex, long key) {
+        int i = position[vertex];
+        if (i < 0) {
+            i = size++;
+            heap[i] = vertex;
+            position[vertex] = i;
+        } else if (key >= keys[vertex]) {
+            return;
+        }
+        keys[vertex] = key;
+        siftUp(i);
+    }
+
+    /**
+     * @return prioritas terkecil di dalam heap
+     */
+    @Override
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    /**
+     * Mengambil dan menghapus vertex dengan prioritas terkecil.
+     *
+     * @return id vertex
+     */
+    @Override
+    public int pop() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Mengosongkan heap. Biayanya sebanding dengan isi heap saat ini,
+     * bukan dengan kapasitasnya.
+     */
+    @Override
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int i) {
+        int vertex = heap[i];
+        long key = keys[vertex];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentVertex = heap[parent];
+            if (keys[parentVertex] <= key)
+                break;
+            heap[i] = parentVertex;
+            position[parentVertex] = i;
+            i = parent;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+
+    private void siftDown(int i) {
+        int vertex = heap[i];
+        long key = keys[vertex];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]])
+                child = right;
+            int childVertex = heap[child];
+            if (key <= keys[childVertex])
+                break;
+            heap[i] = childVertex;
+            position[childVertex] = i;
+            i = child;
+        }
+        heap[i] = vertex;
+        position[vertex] = i;
+    }
+}
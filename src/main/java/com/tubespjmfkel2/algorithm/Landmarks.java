@@ -0,0 +1,169 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Preprocessing ALT (A*, Landmarks, Triangle inequality).
+ * <p>
+ * Sejumlah K vertex dipilih sebagai landmark, lalu jarak setiap vertex ke
+ * setiap landmark disimpan dalam satu array {@code int} dengan susunan
+ * {@code [vertex * K + landmark]} agar seluruh jarak milik satu vertex
+ * berdekatan di memori. Karena edge tidak berarah, jarak "ke" dan "dari"
+ * landmark sama sehingga cukup disimpan sekali.
+ * <p>
+ * Dengan ketidaksamaan segitiga, {@code |d(L, t) - d(L, v)|} adalah batas
+ * bawah jarak {@code v} ke {@code t} untuk setiap landmark {@code L}. Nilai
+ * maksimumnya dipakai sebagai {@link Heuristic} untuk {@link AStar}.
+ */
+public class Landmarks implements Heuristic {
+
+    /**
+     * Penanda vertex yang tidak terjangkau dari landmark
+     */
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CsrGraph graph;
+
+    private final int[] landmarks;
+
+    private final int[] distances;
+
+    private Landmarks(CsrGraph graph, int[] landmarks, int[] distances) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.distances = distances;
+    }
+
+    /**
+     * Memilih landmark dan menghitung tabel jaraknya.
+     * <p>
+     * Pemilihan memakai strategi farthest-point berdasarkan jumlah hop (BFS):
+     * landmark berikutnya adalah vertex yang paling jauh dari seluruh landmark
+     * sebelumnya, sehingga landmark tersebar ke tepi graf dan ke setiap
+     * komponen. Setelah itu jarak berbobot untuk setiap landmark dihitung
+     * secara paralel, satu landmark per core.
+     *
+     * @param graph snapshot graf
+     * @param count jumlah landmark yang diinginkan
+     * @return hasil preprocessing untuk snapshot tersebut
+     */
+    public static Landmarks compute(CsrGraph graph, int count) {
+        int vertexCount = graph.getVertexCount();
+        int[] landmarks = selectFarthest(graph, Math.min(count, vertexCount));
+        int landmarkCount = landmarks.length;
+
+        int[] distances = new int[vertexCount * landmarkCount];
+
+        IntStream.range(0, landmarkCount).parallel().forEach(k -> {
+            SearchContext context = new SearchContext(vertexCount);
+            Dijkstra.calculateShortestPath(graph, context, landmarks[k], -1, Long.MAX_VALUE);
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                long distance = context.getDistance(vertex);
+                // Jarak yang terlalu besar dipotong; selisihnya tetap batas bawah yang sah
+                distances[vertex * landmarkCount + k] =
+                        distance == Long.MAX_VALUE ? UNREACHABLE : (int) Math.min(distance, UNREACHABLE - 1);
+            }
+        });
+
+        return new Landmarks(graph, landmarks, distances);
+    }
+
+    private static int[] selectFarthest(CsrGraph graph, int count) {
+        int vertexCount = graph.getVertexCount();
+        int[] hops = new int[vertexCount];
+        int[] queue = new int[vertexCount];
+        int[] selected = new int[count];
+        if (count == 0)
+            return selected;
+
+        // Landmark pertama: vertex terjauh dari vertex 0
+        breadthFirst(graph, 0, hops, queue);
+        int next = 0;
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (hops[vertex] > hops[next])
+                next = vertex;
+        }
+
+        int[] minHops = new int[vertexCount];
+        Arrays.fill(minHops, Integer.MAX_VALUE);
+
+        for (int k = 0; k < count; k++) {
+            selected[k] = next;
+
+            breadthFirst(graph, next, hops, queue);
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (hops[vertex] >= 0)
+                    minHops[vertex] = Math.min(minHops[vertex], hops[vertex]);
+            }
+
+            // Vertex di komponen yang belum memiliki landmark bernilai MAX_VALUE dan dipilih lebih dulu
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                if (minHops[vertex] > minHops[next])
+                    next = vertex;
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Mengisi {@code hops} dengan jumlah hop dari {@code start}, atau -1 untuk
+     * vertex yang tidak terjangkau.
+     */
+    private static void breadthFirst(CsrGraph graph, int start, int[] hops, int[] queue) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        Arrays.fill(hops, -1);
+        int head = 0, tail = 0;
+        queue[tail++] = start;
+        hops[start] = 0;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int arc = offsets[current]; arc < offsets[current + 1]; arc++) {
+                int neighbor = targets[arc];
+                if (hops[neighbor] < 0) {
+                    hops[neighbor] = hops[current] + 1;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    public int getLandmarkCount() {
+        return landmarks.length;
+    }
+
+    /**
+     * @param index indeks landmark (0..K-1)
+     * @return id vertex landmark tersebut
+     */
+    public int getLandmark(int index) {
+        return landmarks[index];
+    }
+
+    @Override
+    public long estimate(CsrGraph graph, int vertex, int target) {
+        int landmarkCount = landmarks.length;
+        int vertexBase = vertex * landmarkCount;
+        int targetBase = target * landmarkCount;
+
+        long best = 0;
+        for (int k = 0; k < landmarkCount; k++) {
+            int toVertex = distances[vertexBase + k];
+            int toTarget = distances[targetBase + k];
+            if (toVertex == UNREACHABLE || toTarget == UNREACHABLE)
+                continue;
+            best = Math.max(best, Math.abs((long) toTarget - toVertex));
+        }
+        return best;
+    }
+}
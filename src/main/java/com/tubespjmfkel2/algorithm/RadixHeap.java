@@ -0,0 +1,120 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Radix heap untuk prioritas monoton: prioritas yang dimasukkan tidak
+ * pernah lebih kecil dari prioritas terakhir yang diambil, seperti pada
+ * Dijkstra dengan bobot non-negatif.
+ * <p>
+ * Entri dikelompokkan ke bucket menurut posisi bit tertinggi yang berbeda
+ * antara prioritasnya dan prioritas terakhir yang diambil. Saat bucket 0
+ * kosong, bucket tidak kosong pertama dibagi ulang ke bucket yang lebih
+ * rendah; setiap entri hanya dapat turun paling banyak 64 kali, sehingga
+ * biaya amortized-nya O(log C) dengan perbandingan bilangan bulat murah.
+ * <p>
+ * Penurunan prioritas dilakukan dengan memasukkan entri baru (lazy
+ * deletion), lihat {@link Frontier}.
+ */
+public class RadixHeap implements Frontier {
+
+    private static final int BUCKET_COUNT = 65;
+
+    private final int[][] vertices = new int[BUCKET_COUNT][];
+
+    private final long[][] keys = new long[BUCKET_COUNT][];
+
+    private final int[] sizes = new int[BUCKET_COUNT];
+
+    /**
+     * Prioritas terakhir yang diambil; seluruh entri bernilai minimal sebesar ini
+     */
+    private long last;
+
+    private int size;
+
+    public RadixHeap() {
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            vertices[bucket] = new int[16];
+            keys[bucket] = new long[16];
+        }
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void push(int vertex, long key) {
+        add(bucketOf(key), vertex, key);
+        size++;
+    }
+
+    @Override
+    public long peekKey() {
+        refill();
+        return last;
+    }
+
+    @Override
+    public int pop() {
+        refill();
+        size--;
+        return vertices[0][--sizes[0]];
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(sizes, 0);
+        size = 0;
+        last = 0;
+    }
+
+    private int bucketOf(long key) {
+        return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+    }
+
+    private void add(int bucket, int vertex, long key) {
+        int index = sizes[bucket]++;
+        if (index == vertices[bucket].length) {
+            vertices[bucket] = Arrays.copyOf(vertices[bucket], index * 2);
+            keys[bucket] = Arrays.copyOf(keys[bucket], index * 2);
+        }
+        vertices[bucket][index] = vertex;
+        keys[bucket][index] = key;
+    }
+
+    /**
+     * Memastikan bucket 0 berisi entri dengan prioritas terkecil.
+     */
+    private void refill() {
+        if (sizes[0] > 0)
+            return;
+
+        int bucket = 1;
+        while (sizes[bucket] == 0)
+            bucket++;
+
+        int[] bucketVertices = vertices[bucket];
+        long[] bucketKeys = keys[bucket];
+        int count = sizes[bucket];
+
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            min = Math.min(min, bucketKeys[i]);
+        }
+        last = min;
+
+        // Setiap entri pindah ke bucket yang lebih rendah, jadi array bucket ini aman dibaca
+        sizes[bucket] = 0;
+        for (int i = 0; i < count; i++) {
+            add(bucketOf(bucketKeys[i]), bucketVertices[i], bucketKeys[i]);
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.Arrays;
+
+/**
+ * State per-query untuk pencarian di atas {@link com.tubespjmfkel2.domain.CsrGraph}:
+ * jarak, predecessor dan heap. Satu context hanya boleh dipakai oleh satu
+ * thread pada satu waktu, namun dapat dipakai ulang untuk banyak query.
+ * <p>
+ * Agar tidak perlu mengisi ulang seluruh array sebelum setiap query,
+ * setiap entri diberi cap epoch. Entri yang cap-nya tidak sama dengan
+ * epoch query saat ini dianggap belum pernah disentuh (jarak tak hingga,
+ * tanpa predecessor), sehingga {@link #begin()} berjalan dalam O(1)
+ * (ditambah sisa isi heap dari query sebelumnya).
+ */
+public class SearchContext {
+
+    private final int[] stamp;
+
+    private final long[] distance;
+
+    private final int[] predecessor;
+
+    private final IntMinHeap heap;
+
+    /**
+     * Antrian monoton, dibuat saat pertama kali diminta
+     */
+    private RadixHeap radixHeap;
+
+    private BucketQueue bucketQueue;
+
+    /**
+     * Pemantau query yang sedang berjalan, atau null
+     */
+    private SearchMonitor monitor;
+
+    private long settledCount;
+
+    private long relaxedCount;
+
+    private long pushCount;
+
+    private int epoch;
+
+    /**
+     * @param capacity jumlah vertex maksimum graf yang dapat dicari
+     */
+    public SearchContext(int capacity) {
+        stamp = new int[capacity];
+        distance = new long[capacity];
+        predecessor = new int[capacity];
+        heap = new IntMinHeap(capacity);
+    }
+
+    public int getCapacity() {
+        return stamp.length;
+    }
+
+    /**
+     * Memulai query baru: seluruh jarak dianggap tak hingga dan heap dikosongkan.
+     */
+    public void begin() {
+        settledCount = 0;
+        relaxedCount = 0;
+        pushCount = 0;
+        heap.clear();
+        if (radixHeap != null)
+            radixHeap.clear();
+        if (bucketQueue != null)
+            bucketQueue.clear();
+        epoch++;
+        if (epoch == Integer.MAX_VALUE) {
+            // Sangat jarang terjadi: cap lama bisa bertabrakan, jadi reset penuh
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+
+    /**
+     * @param vertex id vertex
+     * @return jarak sementara, atau {@link Long#MAX_VALUE} jika belum terjangkau
+     */
+    public long getDistance(int vertex) {
+        return stamp[vertex] == epoch ? distance[vertex] : Long.MAX_VALUE;
+    }
+
+    /**
+     * @param vertex id vertex
+     * @return predecessor vertex, atau -1 jika tidak ada
+     */
+    public int getPredecessor(int vertex) {
+        return stamp[vertex] == epoch ? predecessor[vertex] : -1;
+    }
+
+    /**
+     * Mengisi jarak dan predecessor sebuah vertex untuk query saat ini.
+     *
+     * @param vertex      id vertex
+     * @param newDistance jarak baru
+     * @param parent      predecessor baru (-1 untuk vertex awal)
+     */
+    public void update(int vertex, long newDistance, int parent) {
+        stamp[vertex] = epoch;
+        distance[vertex] = newDistance;
+        predecessor[vertex] = parent;
+    }
+
+    public SearchMonitor getMonitor() {
+        return monitor;
+    }
+
+    /**
+     * Memasang pemantau untuk query berikutnya pada context ini.
+     *
+     * @param monitor pemantau, atau null untuk melepas
+     */
+    public void setMonitor(SearchMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    /**
+     * @return jumlah vertex settled pada query saat ini
+     */
+    public long getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Dipanggil engine setiap kali sebuah vertex settled.
+     *
+     * @return true jika query dibatalkan melalui {@link SearchMonitor}
+     */
+    boolean settle() {
+        settledCount++;
+        return monitor != null
+                && settledCount % SearchMonitor.CHECK_INTERVAL == 0
+                && monitor.report(settledCount);
+    }
+
+    /**
+     * @return jumlah arc yang diperiksa dari vertex settled pada query saat ini
+     */
+    public long getRelaxedCount() {
+        return relaxedCount;
+    }
+
+    /**
+     * @return jumlah vertex yang dimasukkan atau diperbaiki prioritasnya di antrian pada query saat ini
+     */
+    public long getPushCount() {
+        return pushCount;
+    }
+
+    /**
+     * Dipanggil engine setelah seluruh arc keluar sebuah vertex settled diperiksa.
+     */
+    void relaxed(int arcCount) {
+        relaxedCount += arcCount;
+    }
+
+    /**
+     * Dipanggil engine setiap kali jarak sebuah vertex membaik dan vertex masuk antrian.
+     */
+    void pushed() {
+        pushCount++;
+    }
+
+    public IntMinHeap getHeap() {
+        return heap;
+    }
+
+    /**
+     * Mengembalikan antrian dengan jenis tertentu yang dimiliki context ini.
+     *
+     * @param type      jenis antrian
+     * @param maxWeight bobot edge maksimum graf (dipakai oleh {@link Frontier.Type#BUCKET_QUEUE})
+     * @return antrian kosong jika {@link #begin()} sudah dipanggil
+     */
+    public Frontier getFrontier(Frontier.Type type, int maxWeight) {
+        return switch (type) {
+            case RADIX_HEAP -> {
+                if (radixHeap == null)
+                    radixHeap = new RadixHeap();
+                yield radixHeap;
+            }
+            case BUCKET_QUEUE -> {
+                if (bucketQueue == null || bucketQueue.getMaxWeight() < maxWeight)
+                    bucketQueue = new BucketQueue(stamp.length, maxWeight);
+                yield bucketQueue;
+            }
+            case BINARY_HEAP -> heap;
+        };
+    }
+
+    /**
+     * Membentuk rute dari vertex awal ke {@code target} dengan menelusuri predecessor.
+     *
+     * @param target id vertex tujuan (harus sudah terjangkau)
+     * @return urutan id vertex dari awal sampai tujuan
+     */
+    public int[] pathTo(int target) {
+        int length = 0;
+        for (int vertex = target; vertex != -1; vertex = getPredecessor(vertex)) {
+            length++;
+        }
+
+        int[] path = new int[length];
+        for (int vertex = target; vertex != -1; vertex = getPredecessor(vertex)) {
+            path[--length] = vertex;
+        }
+        return path;
+    }
+}
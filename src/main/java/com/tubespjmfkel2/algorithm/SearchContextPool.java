@@ -0,0 +1,45 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Kumpulan {@link SearchContext} yang dapat dipinjam oleh banyak thread
+ * sekaligus. Peminjaman dan pengembalian memakai antrian non-blocking,
+ * sehingga query yang berjalan paralel tidak saling mengunci.
+ */
+public class SearchContextPool {
+
+    private final int capacity;
+
+    private final ConcurrentLinkedQueue<SearchContext> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param capacity jumlah vertex maksimum yang didukung setiap context
+     */
+    public SearchContextPool(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Meminjam context yang siap dipakai; context baru dibuat jika tidak ada yang menganggur.
+     *
+     * @return context milik thread pemanggil sampai dikembalikan
+     */
+    public SearchContext acquire() {
+        SearchContext context = idle.poll();
+        return context != null ? context : new SearchContext(capacity);
+    }
+
+    /**
+     * Mengembalikan context ke pool setelah query selesai.
+     *
+     * @param context context yang sebelumnya dipinjam dari pool ini
+     */
+    public void release(SearchContext context) {
+        idle.offer(context);
+    }
+}
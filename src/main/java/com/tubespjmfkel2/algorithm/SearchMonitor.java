@@ -0,0 +1,69 @@
+package com.tubespjmfkel2.algorithm;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Pemantau untuk pencarian yang berjalan lama di thread lain. Engine
+ * melaporkan jumlah vertex yang sudah settled setiap
+ * {@link #CHECK_INTERVAL} vertex, dan berhenti lebih awal jika pencarian
+ * dibatalkan (misalnya karena pengguna sudah meminta rute lain).
+ * <p>
+ * Pemeriksaan hanya dilakukan secara berkala agar biaya per vertex tetap
+ * sebatas satu increment counter.
+ */
+public class SearchMonitor {
+
+    /**
+     * Jumlah vertex settled di antara dua pemeriksaan pembatalan
+     */
+    public static final int CHECK_INTERVAL = 4096;
+
+    private final LongConsumer progressListener;
+
+    private volatile boolean cancelled;
+
+    private volatile long settledCount;
+
+    public SearchMonitor() {
+        this(null);
+    }
+
+    /**
+     * @param progressListener penerima jumlah vertex settled; dipanggil dari
+     *                         thread pencarian, boleh null
+     */
+    public SearchMonitor(LongConsumer progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Meminta pencarian berhenti pada pemeriksaan berikutnya.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return jumlah vertex settled pada laporan terakhir
+     */
+    public long getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Mencatat kemajuan pencarian.
+     *
+     * @param settled jumlah vertex settled sejauh ini
+     * @return true jika pencarian harus dihentikan
+     */
+    public boolean report(long settled) {
+        settledCount = settled;
+        if (progressListener != null)
+            progressListener.accept(settled);
+        return cancelled;
+    }
+}
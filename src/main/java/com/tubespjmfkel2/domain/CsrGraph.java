@@ -0,0 +1,294 @@
+package com.tubespjmfkel2.domain;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot graf yang tidak dapat diubah dalam format compressed sparse row (CSR).
+ * <p>
+ * Setiap vertex dipetakan ke id {@code int} yang rapat (0..n-1). Tetangga
+ * vertex {@code v} berada pada indeks {@code offsets[v]} sampai
+ * {@code offsets[v + 1] - 1} di dalam array {@code targets} dan
+ * {@code weights}. Karena edge pada {@link Graph} tidak berarah, setiap edge
+ * disimpan sebagai dua arc (satu untuk masing-masing arah).
+ * <p>
+ * Array yang dikembalikan oleh getter adalah array internal agar dapat
+ * dipakai langsung di loop algoritma tanpa penyalinan; isinya tidak boleh diubah.
+ */
+public class CsrGraph {
+
+    private final String[] names;
+
+    private final Map<String, Integer> ids;
+
+    private final int[] offsets;
+
+    private final int[] targets;
+
+    private final int[] weights;
+
+    private final int maxWeight;
+
+    /**
+     * Koordinat vertex (NaN jika tidak diketahui), atau null jika tidak ada
+     * vertex yang memiliki koordinat
+     */
+    private final double[] xs;
+
+    private final double[] ys;
+
+    /**
+     * Id kategori setiap vertex (-1 jika tidak berkategori), atau null jika tidak ada kategori
+     */
+    private final int[] vertexCategories;
+
+    private final String[] categoryNames;
+
+    private final Map<String, Integer> categoryIds;
+
+    /**
+     * @param names   nama vertex sesuai id
+     * @param ids     pemetaan nama vertex ke id
+     * @param offsets awal daftar arc setiap vertex (panjang n + 1)
+     * @param targets id vertex tujuan setiap arc
+     * @param weights bobot setiap arc
+     */
+    public CsrGraph(String[] names, Map<String, Integer> ids, int[] offsets, int[] targets, int[] weights) {
+        this(names, ids, offsets, targets, weights, null, null, null);
+    }
+
+    /**
+     * @param names   nama vertex sesuai id
+     * @param ids     pemetaan nama vertex ke id
+     * @param offsets awal daftar arc setiap vertex (panjang n + 1)
+     * @param targets id vertex tujuan setiap arc
+     * @param weights bobot setiap arc
+     * @param xs      koordinat x setiap vertex (NaN jika tidak diketahui), boleh null
+     * @param ys      koordinat y setiap vertex (NaN jika tidak diketahui), boleh null
+     * @param categories kategori setiap vertex (null jika tidak berkategori), boleh null
+     */
+    public CsrGraph(String[] names, Map<String, Integer> ids, int[] offsets, int[] targets, int[] weights,
+                    double[] xs, double[] ys, String[] categories) {
+        this.names = names;
+        this.xs = xs;
+        this.ys = ys;
+        this.categoryIds = new HashMap<>();
+
+        if (categories == null) {
+            this.vertexCategories = null;
+            this.categoryNames = new String[0];
+        } else {
+            List<String> categoryList = new ArrayList<>();
+            this.vertexCategories = new int[names.length];
+            for (int id = 0; id < names.length; id++) {
+                String category = categories[id];
+                if (category == null) {
+                    vertexCategories[id] = -1;
+                    continue;
+                }
+                Integer categoryId = categoryIds.get(category);
+                if (categoryId == null) {
+                    categoryId = categoryList.size();
+                    categoryIds.put(category, categoryId);
+                    categoryList.add(category);
+                }
+                vertexCategories[id] = categoryId;
+            }
+            this.categoryNames = categoryList.toArray(new String[0]);
+        }
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.maxWeight = maxWeight(weights);
+    }
+
+    /**
+     * Memeriksa bahwa array CSR membentuk daftar arc yang sah, misalnya
+     * sebelum memakai array yang dibaca dari file.
+     *
+     * @param vertexCount jumlah vertex
+     * @param offsets     awal daftar arc setiap vertex (panjang n + 1)
+     * @param targets     id vertex tujuan setiap arc
+     * @return pesan kesalahan, atau null jika array sah
+     */
+    public static String checkAdjacency(int vertexCount, int[] offsets, int[] targets) {
+        if (offsets.length != vertexCount + 1 || offsets[0] != 0)
+            return "Offset arc tidak valid";
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            if (offsets[vertex + 1] < offsets[vertex])
+                return "Offset arc tidak urut pada vertex " + vertex;
+        }
+        if (offsets[vertexCount] != targets.length)
+            return "Jumlah arc tidak sesuai offset";
+        for (int arc = 0; arc < targets.length; arc++) {
+            if (targets[arc] < 0 || targets[arc] >= vertexCount)
+                return "Tujuan arc " + arc + " di luar rentang vertex";
+        }
+        return null;
+    }
+
+    /**
+     * Salinan snapshot dengan bobot arc berbeda; struktur, nama, koordinat
+     * dan kategori dipakai bersama dengan snapshot asal.
+     */
+    private CsrGraph(CsrGraph base, int[] weights) {
+        this.names = base.names;
+        this.ids = base.ids;
+        this.offsets = base.offsets;
+        this.targets = base.targets;
+        this.xs = base.xs;
+        this.ys = base.ys;
+        this.vertexCategories = base.vertexCategories;
+        this.categoryNames = base.categoryNames;
+        this.categoryIds = base.categoryIds;
+        this.weights = weights;
+        this.maxWeight = maxWeight(weights);
+    }
+
+    private static int maxWeight(int[] weights) {
+        int max = 0;
+        for (int weight : weights) {
+            max = Math.max(max, weight);
+        }
+        return max;
+    }
+
+    /**
+     * Membentuk snapshot baru yang sama dengan snapshot ini kecuali bobot
+     * seluruh arc antara dua vertex. Hanya array bobot yang disalin, sehingga
+     * perubahan bobot tidak memerlukan pembentukan ulang snapshot dari {@link Graph}.
+     *
+     * @param source      id vertex pertama
+     * @param destination id vertex kedua
+     * @param weight      bobot baru
+     * @return snapshot dengan bobot yang sudah diganti
+     */
+    public CsrGraph withEdgeWeight(int source, int destination, int weight) {
+        int[] patched = weights.clone();
+        for (int arc = offsets[source]; arc < offsets[source + 1]; arc++) {
+            if (targets[arc] == destination)
+                patched[arc] = weight;
+        }
+        for (int arc = offsets[destination]; arc < offsets[destination + 1]; arc++) {
+            if (targets[arc] == source)
+                patched[arc] = weight;
+        }
+        return new CsrGraph(this, patched);
+    }
+
+    /**
+     * @param source      id vertex pertama
+     * @param destination id vertex kedua
+     * @return bobot terkecil di antara arc source ke destination, atau
+     *         {@link Integer#MAX_VALUE} jika keduanya tidak bertetangga
+     */
+    public int getEdgeWeight(int source, int destination) {
+        int weight = Integer.MAX_VALUE;
+        for (int arc = offsets[source]; arc < offsets[source + 1]; arc++) {
+            if (targets[arc] == destination)
+                weight = Math.min(weight, weights[arc]);
+        }
+        return weight;
+    }
+
+    public int getVertexCount() {
+        return names.length;
+    }
+
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    /**
+     * Mencari id vertex berdasarkan nama.
+     *
+     * @param name nama vertex
+     * @return id vertex, atau -1 jika tidak ditemukan
+     */
+    public int idOf(String name) {
+        Integer id = name == null ? null : ids.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public String nameOf(int id) {
+        return names[id];
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+
+    /**
+     * @return bobot arc terbesar, atau 0 jika graf tidak memiliki edge
+     */
+    public int getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * @return true jika minimal satu vertex memiliki koordinat
+     */
+    public boolean hasCoordinates() {
+        return xs != null;
+    }
+
+    /**
+     * @param id id vertex
+     * @return true jika vertex memiliki koordinat
+     */
+    public boolean hasCoordinates(int id) {
+        return xs != null && !Double.isNaN(xs[id]) && !Double.isNaN(ys[id]);
+    }
+
+    /**
+     * @return true jika minimal satu vertex memiliki kategori
+     */
+    public boolean hasCategories() {
+        return vertexCategories != null;
+    }
+
+    /**
+     * @param id id vertex
+     * @return id kategori vertex, atau -1 jika tidak berkategori
+     */
+    public int getCategory(int id) {
+        return vertexCategories == null ? -1 : vertexCategories[id];
+    }
+
+    /**
+     * @param id id vertex
+     * @return nama kategori vertex, atau null jika tidak berkategori
+     */
+    public String getCategoryName(int id) {
+        int category = getCategory(id);
+        return category < 0 ? null : categoryNames[category];
+    }
+
+    /**
+     * @param category nama kategori
+     * @return id kategori, atau -1 jika tidak ada vertex dengan kategori tersebut
+     */
+    public int categoryIdOf(String category) {
+        Integer id = category == null ? null : categoryIds.get(category);
+        return id == null ? -1 : id;
+    }
+
+    public double getX(int id) {
+        return xs == null ? Double.NaN : xs[id];
+    }
+
+    public double getY(int id) {
+        return ys == null ? Double.NaN : ys[id];
+    }
+}
@@ -34,6 +34,13 @@ public class Edge {
         return weight;
     }
 
+    /**
+     * Mengubah bobot edge; hanya dipanggil oleh {@link Graph} agar versi graf ikut berubah.
+     */
+    void setWeight(int weight) {
+        this.weight = weight;
+    }
+
     public Vertex getOpposite(Vertex currentVertex) {
         return currentVertex.equals(source) ? destination : source;
     }
@@ -0,0 +1,38 @@
+package com.tubespjmfkel2.domain;
+
+/**
+ * Catatan satu perubahan edge pada {@link Graph} (edge ditambah, dihapus,
+ * atau bobotnya diubah). Dipakai untuk memperbaiki hasil pencarian yang
+ * tersimpan tanpa menghitung ulang dari awal.
+ */
+public class EdgeChange {
+
+    private final long version;
+
+    private final Vertex source;
+
+    private final Vertex destination;
+
+    /**
+     * @param version     versi graf setelah perubahan
+     * @param source      salah satu ujung edge
+     * @param destination ujung edge yang lain
+     */
+    public EdgeChange(long version, Vertex source, Vertex destination) {
+        this.version = version;
+        this.source = source;
+        this.destination = destination;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Vertex getSource() {
+        return source;
+    }
+
+    public Vertex getDestination() {
+        return destination;
+    }
+}
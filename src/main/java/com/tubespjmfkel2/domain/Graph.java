@@ -1,24 +1,58 @@
 package com.tubespjmfkel2.domain;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 
 public class Graph {
 
+    /**
+     * Jumlah perubahan edge terakhir yang dicatat untuk {@link #changesSince}
+     */
+    private static final int CHANGE_LOG_CAPACITY = 1024;
+
+    /**
+     * Kumpulan seluruh simpul dalam graf (urutan sesuai urutan penambahan)
+     */
+    private Set<Vertex> vertices = new LinkedHashSet<>();
 
     /**
-     * Kumpulan seluruh simpul dalam graf
+     * Indeks nama simpul ke objek simpul untuk pencarian O(1)
      */
-    private Set<Vertex> vertices = new HashSet<>();
+    private Map<String, Vertex> vertexIndex = new HashMap<>();
 
     /**
      * Kumpulan seluruh edge dalam graf
      */
     private List<Edge> edges = new ArrayList<>();
 
+    /**
+     * Snapshot CSR terakhir; null jika graf berubah sejak snapshot dibentuk
+     */
+    private volatile CsrGraph snapshot;
+
+    /**
+     * Versi graf, bertambah setiap kali vertex atau edge berubah
+     */
+    private volatile long version;
+
+    /**
+     * Versi terakhir saat himpunan vertex berubah
+     */
+    private long vertexVersion;
+
+    /**
+     * Perubahan edge terbaru, urut dari yang paling lama
+     */
+    private final ArrayDeque<EdgeChange> changeLog = new ArrayDeque<>();
+
     /**
      * Mengembalikan seluruh simpul dalam graf.
      *
@@ -42,8 +76,21 @@ public class Graph {
      *
      * @param vertexName Vertex baru yang akan ditambahkan
      */
-    public void addVertex(Vertex vertexName) {
+    public synchronized void addVertex(Vertex vertexName) {
         vertices.add(vertexName);
+        vertexIndex.put(vertexName.getName(), vertexName);
+        changed();
+        vertexesChanged();
+    }
+
+    /**
+     * Mencari simpul berdasarkan nama.
+     *
+     * @param name nama simpul
+     * @return simpul dengan nama tersebut, atau null jika tidak ada
+     */
+    public Vertex getVertex(String name) {
+        return vertexIndex.get(name);
     }
 
     /**
@@ -55,10 +102,301 @@ public class Graph {
      * @param destination Simpul tujuan
      * @param weight      Bobot perjalanan
      */
-    public void addEdge(Vertex source, Vertex destination, int weight) {
+    public synchronized void addEdge(Vertex source, Vertex destination, int weight) {
         Edge edge = new Edge(source, destination, weight);
+        edges.add(edge);
         source.addNeighbor(edge);
         destination.addNeighbor(edge);
+        changed();
+        logEdgeChange(source, destination);
+    }
+
+    /**
+     * Mengubah bobot edge antara dua simpul (seluruh edge jika ada lebih dari
+     * satu). Snapshot yang sudah ada tidak dibentuk ulang dari awal; cukup
+     * array bobotnya yang disalin dan diperbarui.
+     *
+     * @param source      salah satu ujung edge
+     * @param destination ujung edge yang lain
+     * @param weight      bobot baru
+     * @return false jika kedua simpul tidak terhubung langsung
+     */
+    public synchronized boolean updateEdgeWeight(Vertex source, Vertex destination, int weight) {
+        boolean found = false;
+        for (Edge edge : source.getNeighbors()) {
+            if (edge.getOpposite(source) == destination) {
+                edge.setWeight(weight);
+                found = true;
+            }
+        }
+        if (!found)
+            return false;
+
+        CsrGraph current = snapshot;
+        changed();
+        logEdgeChange(source, destination);
+        if (current != null)
+            snapshot = current.withEdgeWeight(
+                    current.idOf(source.getName()), current.idOf(destination.getName()), weight);
+        return true;
+    }
+
+    /**
+     * Menghapus edge antara dua simpul (seluruh edge jika ada lebih dari satu).
+     *
+     * @param source      salah satu ujung edge
+     * @param destination ujung edge yang lain
+     * @return false jika kedua simpul tidak terhubung langsung
+     */
+    public synchronized boolean removeEdge(Vertex source, Vertex destination) {
+        if (!source.getNeighbors().removeIf(edge -> edge.getOpposite(source) == destination))
+            return false;
+
+        destination.getNeighbors().removeIf(edge -> edge.getOpposite(destination) == source);
+        edges.removeIf(edge -> (edge.getSource() == source && edge.getDestination() == destination)
+                || (edge.getSource() == destination && edge.getDestination() == source));
+        changed();
+        logEdgeChange(source, destination);
+        return true;
+    }
+
+    /**
+     * Mengembalikan perubahan edge setelah versi tertentu, sehingga hasil
+     * pencarian dari versi tersebut dapat diperbaiki secara lokal.
+     *
+     * @param since versi graf saat hasil pencarian dihitung
+     * @return perubahan edge urut dari yang paling lama, atau null jika sejak
+     *         versi tersebut himpunan vertex berubah atau catatan sudah terpotong
+     */
+    public synchronized List<EdgeChange> changesSince(long since) {
+        if (since < vertexVersion || since > version)
+            return null;
+        if (since == version)
+            return List.of();
+        if (changeLog.isEmpty() || changeLog.peekFirst().getVersion() > since + 1)
+            return null;
+
+        List<EdgeChange> changes = new ArrayList<>();
+        for (EdgeChange change : changeLog) {
+            if (change.getVersion() > since)
+                changes.add(change);
+        }
+        return changes;
+    }
+
+    private void logEdgeChange(Vertex source, Vertex destination) {
+        if (changeLog.size() == CHANGE_LOG_CAPACITY)
+            changeLog.pollFirst();
+        changeLog.addLast(new EdgeChange(version, source, destination));
+    }
+
+    /**
+     * Id vertex snapshot bergantung pada himpunan vertex, jadi catatan perubahan edge lama tidak berlaku lagi.
+     */
+    private void vertexesChanged() {
+        vertexVersion = version;
+        changeLog.clear();
+    }
+
+    /**
+     * Menambahkan banyak vertex dan edge sekaligus, misalnya hasil import CSV.
+     * Koleksi graf dibentuk ulang sekali dengan ukuran pas, versi naik sekali,
+     * dan tidak ada catatan perubahan per edge.
+     * <p>
+     * Pemanggil bertanggung jawab atas validasi: nama vertex baru belum ada
+     * di graf, dan kedua ujung setiap edge adalah vertex graf atau vertex baru.
+     *
+     * @param newVertices vertex baru, sesuai urutan penambahan
+     * @param newEdges    edge baru
+     */
+    public synchronized void addAll(List<Vertex> newVertices, List<Edge> newEdges) {
+        if (newVertices.isEmpty() && newEdges.isEmpty())
+            return;
+
+        Set<Vertex> allVertices = new LinkedHashSet<>(capacityFor(vertices.size() + newVertices.size()));
+        Map<String, Vertex> allIndex = new HashMap<>(capacityFor(vertices.size() + newVertices.size()));
+        allVertices.addAll(vertices);
+        allIndex.putAll(vertexIndex);
+        for (Vertex vertex : newVertices) {
+            allVertices.add(vertex);
+            allIndex.put(vertex.getName(), vertex);
+        }
+
+        List<Edge> allEdges = new ArrayList<>(edges.size() + newEdges.size());
+        allEdges.addAll(edges);
+        for (Edge edge : newEdges) {
+            allEdges.add(edge);
+            edge.getSource().addNeighbor(edge);
+            edge.getDestination().addNeighbor(edge);
+        }
+
+        vertices = allVertices;
+        vertexIndex = allIndex;
+        edges = allEdges;
+        changed();
+        vertexesChanged();
+    }
+
+    /**
+     * Mengganti isi graf dengan isi snapshot, misalnya setelah membaca file
+     * graf biner. Snapshot tersebut langsung dipakai sebagai snapshot graf
+     * sehingga tidak perlu dibentuk ulang untuk query pertama.
+     * <p>
+     * Seluruh vertex dan edge diisi sekaligus dengan koleksi berukuran pas,
+     * dengan satu kenaikan versi dan tanpa catatan perubahan per edge.
+     *
+     * @param loaded snapshot sumber
+     */
+    public synchronized void load(CsrGraph loaded) {
+        int vertexCount = loaded.getVertexCount();
+        int[] offsets = loaded.getOffsets();
+        int[] targets = loaded.getTargets();
+        int[] weights = loaded.getWeights();
+
+        Vertex[] loadedVertices = new Vertex[vertexCount];
+        Set<Vertex> newVertices = new LinkedHashSet<>(capacityFor(vertexCount));
+        Map<String, Vertex> newIndex = new HashMap<>(capacityFor(vertexCount));
+        for (int id = 0; id < vertexCount; id++) {
+            Vertex vertex = new Vertex();
+            vertex.setName(loaded.nameOf(id));
+            if (loaded.hasCoordinates(id))
+                vertex.setCoordinates(loaded.getX(id), loaded.getY(id));
+            vertex.setCategory(loaded.getCategoryName(id));
+            vertex.setNeighbors(new ArrayList<>(offsets[id + 1] - offsets[id]));
+            loadedVertices[id] = vertex;
+            newVertices.add(vertex);
+            newIndex.put(vertex.getName(), vertex);
+        }
+
+        List<Edge> newEdges = new ArrayList<>(loaded.getArcCount() / 2);
+        for (int id = 0; id < vertexCount; id++) {
+            int selfArcs = 0;
+            for (int arc = offsets[id]; arc < offsets[id + 1]; arc++) {
+                // Setiap edge tersimpan sebagai dua arc, cukup tambahkan dari sisi id terkecil.
+                // Self-loop juga tersimpan dua kali pada vertex yang sama (sekali per ujung).
+                boolean selfLoop = id == targets[arc];
+                if (id < targets[arc] || (selfLoop && selfArcs++ % 2 == 0)) {
+                    Edge edge = new Edge(loadedVertices[id], loadedVertices[targets[arc]], weights[arc]);
+                    newEdges.add(edge);
+                    loadedVertices[id].addNeighbor(edge);
+                    loadedVertices[targets[arc]].addNeighbor(edge);
+                }
+            }
+        }
+
+        vertices = newVertices;
+        vertexIndex = newIndex;
+        edges = newEdges;
+        changed();
+        vertexesChanged();
+        snapshot = loaded;
+    }
+
+    /**
+     * @return kapasitas awal HashMap/HashSet agar {@code size} entri muat tanpa rehash
+     */
+    private static int capacityFor(int size) {
+        return (int) Math.min(Integer.MAX_VALUE, (long) size * 4 / 3 + 1);
+    }
+
+    /**
+     * Versi graf saat ini. Nilainya berubah setiap kali graf diubah, sehingga
+     * dapat dipakai untuk mendeteksi cache yang sudah usang.
+     *
+     * @return versi graf
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Menandai graf berubah: snapshot lama dibuang dan versi dinaikkan.
+     */
+    private void changed() {
+        snapshot = null;
+        version++;
+    }
+
+    /**
+     * Mengembalikan snapshot CSR dari kondisi graf saat ini. Snapshot disimpan
+     * dan dipakai ulang sampai graf berubah, sehingga pemanggilan berulang
+     * tanpa perubahan graf tidak memerlukan penguncian maupun pembentukan ulang.
+     *
+     * @return snapshot graf yang dapat dibaca bersamaan oleh banyak thread
+     */
+    public CsrGraph snapshot() {
+        CsrGraph current = snapshot;
+        if (current != null)
+            return current;
+
+        synchronized (this) {
+            if (snapshot == null)
+                snapshot = freeze();
+            return snapshot;
+        }
+    }
+
+    /**
+     * Membentuk snapshot CSR yang tidak dapat diubah dari kondisi graf saat ini.
+     * Id vertex diberikan sesuai urutan penambahan vertex. Perubahan graf
+     * setelah pemanggilan ini tidak memengaruhi snapshot yang sudah dibentuk.
+     *
+     * @return snapshot graf dalam format {@link CsrGraph}
+     */
+    public synchronized CsrGraph freeze() {
+        int vertexCount = vertices.size();
+
+        String[] names = new String[vertexCount];
+        Map<String, Integer> ids = new HashMap<>(vertexCount * 2);
+        Map<Vertex, Integer> vertexIds = new IdentityHashMap<>(vertexCount * 2);
+
+        double[] xs = null;
+        double[] ys = null;
+        String[] categories = null;
+
+        int id = 0;
+        for (Vertex vertex : vertices) {
+            names[id] = vertex.getName();
+            ids.put(vertex.getName(), id);
+            vertexIds.put(vertex, id);
+
+            if (vertex.hasCoordinates()) {
+                if (xs == null) {
+                    xs = new double[vertexCount];
+                    ys = new double[vertexCount];
+                    Arrays.fill(xs, Double.NaN);
+                    Arrays.fill(ys, Double.NaN);
+                }
+                xs[id] = vertex.getX();
+                ys[id] = vertex.getY();
+            }
+            if (vertex.getCategory() != null) {
+                if (categories == null)
+                    categories = new String[vertexCount];
+                categories[id] = vertex.getCategory();
+            }
+            id++;
+        }
+
+        int[] offsets = new int[vertexCount + 1];
+        int index = 0;
+        for (Vertex vertex : vertices) {
+            offsets[index + 1] = offsets[index] + vertex.getNeighbors().size();
+            index++;
+        }
+
+        int[] targets = new int[offsets[vertexCount]];
+        int[] weights = new int[offsets[vertexCount]];
+        int arc = 0;
+        for (Vertex vertex : vertices) {
+            for (Edge edge : vertex.getNeighbors()) {
+                targets[arc] = vertexIds.get(edge.getOpposite(vertex));
+                weights[arc] = edge.getWeight();
+                arc++;
+            }
+        }
+
+        return new CsrGraph(names, ids, offsets, targets, weights, xs, ys, categories);
     }
 
     /**
@@ -67,9 +405,12 @@ public class Graph {
      * jarak ke Infinity dan menghapus path sementara.
      */
 
-    public void clear() {
+    public synchronized void clear() {
         vertices.clear();
+        vertexIndex.clear();
         edges.clear();
+        changed();
+        vertexesChanged();
     }
 
 }
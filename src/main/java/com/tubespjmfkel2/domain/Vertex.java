@@ -9,8 +9,20 @@ public class Vertex {
 
     private String name;
     private List<Edge> neighbors = new ArrayList<>();
-    private List<Vertex> shortestPath = new ArrayList<>();
+    /**
+     * Vertex sebelumnya pada rute terpendek dari sumber (parent pointer).
+     */
+    private Vertex previous;
     private Integer distance = Integer.MAX_VALUE;
+    /**
+     * Koordinat opsional (NaN jika tidak diketahui), dipakai oleh heuristik A*.
+     */
+    private double x = Double.NaN;
+    private double y = Double.NaN;
+    /**
+     * Kategori opsional vertex, misalnya "Bengkel" (null jika tidak ada).
+     */
+    private String category;
 
 
     public void addNeighbor(Edge edge) {
@@ -33,12 +45,12 @@ public class Vertex {
         return name;
     }
 
-    public List<Vertex> getShortestPath() {
-        return shortestPath;
+    public Vertex getPrevious() {
+        return previous;
     }
 
-    public void setShortestPath(List<Vertex> shortestPath) {
-        this.shortestPath = shortestPath;
+    public void setPrevious(Vertex previous) {
+        this.previous = previous;
     }
 
     public Integer getDistance() {
@@ -48,4 +60,29 @@ public class Vertex {
     public void setDistance(Integer distance) {
         this.distance = distance;
     }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public void setCoordinates(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public boolean hasCoordinates() {
+        return !Double.isNaN(x) && !Double.isNaN(y);
+    }
 }
@@ -22,9 +22,14 @@ public class DijkstraResult {
 
     private List<String> path;
 
-    private int distance;
+    private long distance;
 
-    public DijkstraResult(List<String> path, int distance) {
+    /**
+     * @param path     urutan nama vertex pada rute
+     * @param distance total jarak; bertipe long karena jumlah bobot rute
+     *                 panjang dapat melebihi {@link Integer#MAX_VALUE}
+     */
+    public DijkstraResult(List<String> path, long distance) {
         this.path = path;
         this.distance = distance;
     }
@@ -33,7 +38,7 @@ public class DijkstraResult {
         return path;
     }
 
-    public int getDistance() {
+    public long getDistance() {
         return distance;
     }
 }
@@ -0,0 +1,86 @@
+package com.tubespjmfkel2.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) berisi tabel jarak terpendek dari setiap
+ * titik asal ke setiap titik tujuan.
+ *
+ * <p>
+ * Jarak disimpan dalam satu array {@code long} berurutan per baris
+ * (indeks {@code asal * jumlahTujuan + tujuan}), sehingga tabel besar
+ * seperti 2.000 x 200 tidak membutuhkan objek per sel.
+ * </p>
+ *
+ * <p>
+ * Objek ini merupakan immutable sehingga nilai hanya dapat diisi
+ * melalui constructor dan tidak dapat dimodifikasi kembali. List dan array
+ * dari constructor disalin, sehingga perubahan oleh pemanggil tidak terlihat.
+ * </p>
+ */
+public class DistanceMatrix {
+
+    /**
+     * Nilai jarak untuk pasangan titik yang tidak terhubung
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final List<String> sources;
+
+    private final List<String> targets;
+
+    private final long[] distances;
+
+    /**
+     * @param sources   nama titik asal (baris)
+     * @param targets   nama titik tujuan (kolom)
+     * @param distances jarak per baris, panjang {@code sources.size() * targets.size()}
+     */
+    public DistanceMatrix(List<String> sources, List<String> targets, long[] distances) {
+        if (distances.length != (long) sources.size() * targets.size())
+            throw new IllegalArgumentException("Panjang array jarak tidak sesuai ukuran tabel");
+        this.sources = List.copyOf(sources);
+        this.targets = List.copyOf(targets);
+        this.distances = distances.clone();
+    }
+
+    public List<String> getSources() {
+        return sources;
+    }
+
+    public List<String> getTargets() {
+        return targets;
+    }
+
+    /**
+     * @param source indeks titik asal
+     * @param target indeks titik tujuan
+     * @return jarak terpendek, atau {@link #UNREACHABLE}
+     */
+    public long getDistance(int source, int target) {
+        return distances[source * targets.size() + target];
+    }
+
+    /**
+     * @return salinan seluruh jarak dalam bentuk array datar per baris
+     */
+    public long[] toFlatArray() {
+        return distances.clone();
+    }
+
+    /**
+     * @return salinan seluruh jarak dalam bentuk array dua dimensi;
+     *         pasangan tidak terhubung atau di luar jangkauan {@code int}
+     *         bernilai {@link Integer#MAX_VALUE}
+     */
+    public int[][] toArray() {
+        int columns = targets.size();
+        int[][] matrix = new int[sources.size()][columns];
+        for (int row = 0; row < matrix.length; row++) {
+            for (int column = 0; column < columns; column++) {
+                matrix[row][column] = (int) Math.min(distances[row * columns + column], Integer.MAX_VALUE);
+            }
+        }
+        return matrix;
+    }
+}
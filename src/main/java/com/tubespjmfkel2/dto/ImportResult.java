@@ -0,0 +1,52 @@
+package com.tubespjmfkel2.dto;
+
+/**
+ * Data Transfer Object (DTO) berisi statistik hasil import graf dari file.
+ *
+ * <p>
+ * Objek ini merupakan immutable sehingga nilai hanya dapat diisi
+ * melalui constructor dan tidak dapat dimodifikasi kembali.
+ * </p>
+ */
+public class ImportResult {
+
+    private final int vertexCount;
+
+    private final int edgeCount;
+
+    private final int skippedRows;
+
+    private final long elapsedMillis;
+
+    public ImportResult(int vertexCount, int edgeCount, int skippedRows, long elapsedMillis) {
+        this.vertexCount = vertexCount;
+        this.edgeCount = edgeCount;
+        this.skippedRows = skippedRows;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    /**
+     * @return jumlah vertex yang berhasil ditambahkan
+     */
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return jumlah edge yang berhasil ditambahkan
+     */
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    /**
+     * @return jumlah baris yang dilewati karena tidak valid
+     */
+    public int getSkippedRows() {
+        return skippedRows;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
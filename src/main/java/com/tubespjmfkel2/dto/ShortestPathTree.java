@@ -0,0 +1,111 @@
+package com.tubespjmfkel2.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Data Transfer Object (DTO) berisi pohon rute terpendek dari satu titik
+ * awal ke seluruh titik lain dalam graf.
+ *
+ * <p>
+ * Pohon disimpan dalam bentuk ringkas: array jarak bertipe {@code long}
+ * dan array parent bertipe {@code int} yang diindeks dengan id vertex snapshot
+ * {@link CsrGraph}. Rute ke titik mana pun dapat dibentuk dalam
+ * O(panjang rute) tanpa pencarian ulang.
+ * </p>
+ *
+ * <p>
+ * Objek ini merupakan immutable sehingga nilai hanya dapat diisi
+ * melalui constructor dan tidak dapat dimodifikasi kembali. Array dari
+ * constructor disalin, sehingga perubahan oleh pemanggil tidak terlihat.
+ * </p>
+ */
+public class ShortestPathTree {
+
+    /**
+     * Nilai jarak untuk vertex yang tidak terjangkau
+     */
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final CsrGraph graph;
+
+    private final long graphVersion;
+
+    private final int source;
+
+    private final long[] distances;
+
+    private final int[] parents;
+
+    /**
+     * @param graph        snapshot asal id vertex
+     * @param graphVersion versi graf saat pohon dihitung
+     * @param source       id vertex awal
+     * @param distances    jarak setiap vertex ({@link #UNREACHABLE} jika tidak terjangkau)
+     * @param parents      parent setiap vertex pada pohon (-1 untuk awal dan vertex tak terjangkau)
+     */
+    public ShortestPathTree(CsrGraph graph, long graphVersion, int source, long[] distances, int[] parents) {
+        this.graph = graph;
+        this.graphVersion = graphVersion;
+        this.source = source;
+        this.distances = distances.clone();
+        this.parents = parents.clone();
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    public long getGraphVersion() {
+        return graphVersion;
+    }
+
+    /**
+     * @return id vertex awal
+     */
+    public int getSource() {
+        return source;
+    }
+
+    public String getSourceName() {
+        return graph.nameOf(source);
+    }
+
+    /**
+     * @param vertex id vertex
+     * @return jarak dari titik awal, atau {@link #UNREACHABLE}
+     */
+    public long getDistance(int vertex) {
+        return distances[vertex];
+    }
+
+    /**
+     * @param vertex id vertex
+     * @return parent vertex pada pohon, atau -1
+     */
+    public int getParent(int vertex) {
+        return parents[vertex];
+    }
+
+    /**
+     * Membentuk rute dari titik awal ke titik tujuan dengan menelusuri parent.
+     *
+     * @param target nama titik tujuan
+     * @return hasil rute, atau null jika tujuan tidak ada atau tidak terjangkau
+     */
+    public DijkstraResult pathTo(String target) {
+        int vertex = graph.idOf(target);
+        if (vertex < 0 || distances[vertex] == UNREACHABLE)
+            return null;
+
+        List<String> path = new ArrayList<>();
+        for (int current = vertex; current != -1; current = parents[current]) {
+            path.add(graph.nameOf(current));
+        }
+        Collections.reverse(path);
+        return new DijkstraResult(Collections.unmodifiableList(path), distances[vertex]);
+    }
+}
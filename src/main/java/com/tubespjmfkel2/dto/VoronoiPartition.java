@@ -0,0 +1,115 @@
+package com.tubespjmfkel2.dto;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Data Transfer Object (DTO) berisi pembagian seluruh titik graf ke titik
+ * sumber terdekatnya (misalnya setiap persimpangan ke bengkel terdekat).
+ *
+ * <p>
+ * Hasil disimpan sebagai array primitif yang diindeks dengan id vertex
+ * snapshot {@link CsrGraph}, sehingga tetap ringkas untuk graf berukuran
+ * jutaan vertex.
+ * </p>
+ *
+ * <p>
+ * Objek ini merupakan immutable sehingga nilai hanya dapat diisi
+ * melalui constructor dan tidak dapat dimodifikasi kembali. Array dari
+ * constructor disalin, sehingga perubahan oleh pemanggil tidak terlihat.
+ * </p>
+ */
+public class VoronoiPartition {
+
+    /**
+     * Nilai jarak untuk vertex yang tidak terjangkau dari sumber mana pun
+     */
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+
+    private final CsrGraph graph;
+
+    private final int[] sources;
+
+    private final int[] distances;
+
+    private final int[] nearestSources;
+
+    /**
+     * @param graph          snapshot asal id vertex
+     * @param sources        id vertex sumber
+     * @param distances      jarak setiap vertex ke sumber terdekat ({@link #UNREACHABLE} jika tidak terjangkau)
+     * @param nearestSources id sumber terdekat setiap vertex (-1 jika tidak terjangkau)
+     */
+    public VoronoiPartition(CsrGraph graph, int[] sources, int[] distances, int[] nearestSources) {
+        this.graph = graph;
+        this.sources = sources.clone();
+        this.distances = distances.clone();
+        this.nearestSources = nearestSources.clone();
+    }
+
+    public CsrGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * @return jumlah titik sumber
+     */
+    public int getSourceCount() {
+        return sources.length;
+    }
+
+    /**
+     * @param index indeks sumber
+     * @return id vertex sumber
+     */
+    public int getSource(int index) {
+        return sources[index];
+    }
+
+    /**
+     * @param vertex id vertex
+     * @return jarak ke sumber terdekat, atau {@link #UNREACHABLE}
+     */
+    public int getDistance(int vertex) {
+        return distances[vertex];
+    }
+
+    /**
+     * @param vertex id vertex
+     * @return id vertex sumber terdekat, atau -1
+     */
+    public int getNearestSource(int vertex) {
+        return nearestSources[vertex];
+    }
+
+    /**
+     * @param vertex nama titik
+     * @return nama sumber terdekat, atau null jika titik tidak ada atau tidak terjangkau
+     */
+    public String getNearestSourceName(String vertex) {
+        int id = graph.idOf(vertex);
+        if (id < 0 || nearestSources[id] < 0)
+            return null;
+        return graph.nameOf(nearestSources[id]);
+    }
+
+    /**
+     * Menghitung jumlah titik yang dilayani oleh setiap sumber. Jumlah
+     * dihitung per id vertex sumber, sehingga sumber yang disebut lebih dari
+     * sekali mendapat jumlah yang sama di setiap posisinya.
+     *
+     * @return jumlah titik per sumber, sesuai urutan {@link #getSource}
+     */
+    public int[] countPerSource() {
+        int[] countPerVertex = new int[graph.getVertexCount()];
+        for (int nearest : nearestSources) {
+            if (nearest >= 0)
+                countPerVertex[nearest]++;
+        }
+
+        int[] counts = new int[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            counts[i] = countPerVertex[sources[i]];
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,275 @@
+package com.tubespjmfkel2.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+import com.tubespjmfkel2.dto.ImportResult;
+
+/**
+ * Format file biner ringkas untuk snapshot {@link CsrGraph}.
+ * <p>
+ * Susunan file (little-endian):
+ * <pre>
+ * header      : int magic, int version, int vertexCount, int arcCount, int flags
+ * offsets     : int[vertexCount + 1]
+ * targets     : int[arcCount]
+ * weights     : int[arcCount]
+ * koordinat   : double[vertexCount] x, double[vertexCount] y (hanya jika flag FLAG_COORDINATES)
+ * string table: untuk setiap vertex, int panjang byte + nama dalam UTF-8
+ * kategori    : untuk setiap vertex, int panjang byte (-1 jika tanpa kategori) + nama
+ *               kategori dalam UTF-8 (hanya jika flag FLAG_CATEGORIES)
+ * </pre>
+ * File versi 1 (tanpa field flags, koordinat dan kategori) tetap dapat dibaca.
+ * Array CSR berada pada posisi tetap setelah header sehingga dapat dipetakan
+ * langsung dengan {@link FileChannel#map}; pembacaan hanya berupa penyalinan
+ * blok memori tanpa parsing teks.
+ */
+public class BinaryGraphFile {
+
+    /**
+     * "TPJG" dalam ASCII
+     */
+    private static final int MAGIC = 0x54504A47;
+
+    private static final int VERSION = 3;
+
+    private static final int FLAG_COORDINATES = 1;
+
+    private static final int FLAG_CATEGORIES = 2;
+
+    /**
+     * Ukuran buffer saat menulis file
+     */
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    /**
+     * Membaca file biner dengan memory-mapping.
+     *
+     * @param path lokasi file
+     * @return snapshot graf
+     * @throws IOException jika file tidak dapat dibaca atau formatnya tidak dikenali
+     */
+    public static CsrGraph read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+
+            ByteBuffer header = map(channel, 0, 2 * Integer.BYTES);
+            if (header.getInt() != MAGIC)
+                throw new IOException("Bukan file graf biner: " + path);
+            int version = header.getInt();
+            if (version < 1 || version > VERSION)
+                throw new IOException("Versi file graf tidak didukung: " + path);
+
+            int headerInts = version == 1 ? 4 : 5;
+            header = map(channel, 2 * Integer.BYTES, (headerInts - 2) * Integer.BYTES);
+            int vertexCount = header.getInt();
+            int arcCount = header.getInt();
+            int flags = version == 1 ? 0 : header.getInt();
+            if (vertexCount < 0 || vertexCount == Integer.MAX_VALUE || arcCount < 0)
+                throw new IOException("Header file graf rusak: " + path);
+
+            long position = (long) headerInts * Integer.BYTES;
+            int[] offsets = readInts(channel, position, vertexCount + 1);
+            position += (long) (vertexCount + 1) * Integer.BYTES;
+            int[] targets = readInts(channel, position, arcCount);
+            position += (long) arcCount * Integer.BYTES;
+            int[] weights = readInts(channel, position, arcCount);
+            position += (long) arcCount * Integer.BYTES;
+
+            String error = CsrGraph.checkAdjacency(vertexCount, offsets, targets);
+            if (error != null)
+                throw new IOException("File graf rusak: " + error + ": " + path);
+
+            double[] xs = null;
+            double[] ys = null;
+            if ((flags & FLAG_COORDINATES) != 0) {
+                xs = readDoubles(channel, position, vertexCount);
+                position += (long) vertexCount * Double.BYTES;
+                ys = readDoubles(channel, position, vertexCount);
+                position += (long) vertexCount * Double.BYTES;
+            }
+
+            ByteBuffer strings = map(channel, position, channel.size() - position);
+            String[] names = new String[vertexCount];
+            Map<String, Integer> ids = new HashMap<>(vertexCount * 2);
+            for (int id = 0; id < vertexCount; id++) {
+                names[id] = readString(strings, path);
+                if (names[id] == null || ids.put(names[id], id) != null)
+                    throw new IOException("File graf rusak: nama vertex " + id + " kosong atau ganda: " + path);
+            }
+
+            String[] categories = null;
+            if ((flags & FLAG_CATEGORIES) != 0) {
+                categories = new String[vertexCount];
+                for (int id = 0; id < vertexCount; id++) {
+                    categories[id] = readString(strings, path);
+                }
+            }
+
+            return new CsrGraph(names, ids, offsets, targets, weights, xs, ys, categories);
+        }
+    }
+
+    /**
+     * Menulis snapshot graf ke file biner.
+     *
+     * @param graph snapshot graf
+     * @param path  lokasi file tujuan (ditimpa jika sudah ada)
+     * @throws IOException jika file tidak dapat ditulis
+     */
+    public static void write(CsrGraph graph, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(graph.getVertexCount()).putInt(graph.getArcCount())
+                    .putInt((graph.hasCoordinates() ? FLAG_COORDINATES : 0)
+                            | (graph.hasCategories() ? FLAG_CATEGORIES : 0));
+            writeInts(channel, buffer, graph.getOffsets());
+            writeInts(channel, buffer, graph.getTargets());
+            writeInts(channel, buffer, graph.getWeights());
+
+            if (graph.hasCoordinates()) {
+                for (int id = 0; id < graph.getVertexCount(); id++) {
+                    ensureRemaining(channel, buffer, Double.BYTES);
+                    buffer.putDouble(graph.getX(id));
+                }
+                for (int id = 0; id < graph.getVertexCount(); id++) {
+                    ensureRemaining(channel, buffer, Double.BYTES);
+                    buffer.putDouble(graph.getY(id));
+                }
+            }
+
+            for (int id = 0; id < graph.getVertexCount(); id++) {
+                writeString(channel, buffer, graph.nameOf(id));
+            }
+            if (graph.hasCategories()) {
+                for (int id = 0; id < graph.getVertexCount(); id++) {
+                    writeString(channel, buffer, graph.getCategoryName(id));
+                }
+            }
+            flush(channel, buffer);
+        }
+    }
+
+    /**
+     * Mengubah file CSV (TYPE,SOURCE,DESTINATION,WEIGHT) menjadi file graf biner.
+     *
+     * @param csv    lokasi file CSV
+     * @param output lokasi file biner tujuan
+     * @return statistik import CSV
+     * @throws IOException jika file tidak dapat dibaca atau ditulis
+     */
+    public static ImportResult convertCsv(Path csv, Path output) throws IOException {
+        GraphService graphService = new GraphService();
+        ImportResult result = graphService.importCsv(csv);
+        write(graphService.getGraph().snapshot(), output);
+        return result;
+    }
+
+    /**
+     * Konverter baris perintah: {@code BinaryGraphFile <input.csv> <output.bin>}.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.out.println("Penggunaan: BinaryGraphFile <input.csv> <output.bin>");
+            return;
+        }
+        ImportResult result = convertCsv(Path.of(args[0]), Path.of(args[1]));
+        System.out.println("Vertex: " + result.getVertexCount() + ", Edge: " + result.getEdgeCount()
+                + ", baris dilewati: " + result.getSkippedRows());
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        if (position + size > channel.size())
+            throw new IOException("File graf terpotong");
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    /**
+     * Ukuran blok dipetakan sebelum array dialokasikan, sehingga jumlah
+     * elemen dari file rusak menjadi {@link IOException}, bukan alokasi raksasa.
+     */
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        IntBuffer source = map(channel, position, (long) count * Integer.BYTES).asIntBuffer();
+        int[] values = new int[count];
+        source.get(values);
+        return values;
+    }
+
+    private static double[] readDoubles(FileChannel channel, long position, int count) throws IOException {
+        DoubleBuffer source = map(channel, position, (long) count * Double.BYTES).asDoubleBuffer();
+        double[] values = new double[count];
+        source.get(values);
+        return values;
+    }
+
+    /**
+     * Membaca string dengan prefix panjang; panjang -1 berarti null.
+     */
+    private static String readString(ByteBuffer buffer, Path path) throws IOException {
+        if (buffer.remaining() < Integer.BYTES)
+            throw new IOException("File graf terpotong: " + path);
+        int length = buffer.getInt();
+        if (length == -1)
+            return null;
+        if (length < 0 || length > buffer.remaining())
+            throw new IOException("File graf rusak: panjang string tidak valid: " + path);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(FileChannel channel, ByteBuffer buffer, String value) throws IOException {
+        ensureRemaining(channel, buffer, Integer.BYTES);
+        if (value == null) {
+            buffer.putInt(-1);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(bytes.length);
+        for (int start = 0; start < bytes.length; ) {
+            ensureRemaining(channel, buffer, 1);
+            int length = Math.min(buffer.remaining(), bytes.length - start);
+            buffer.put(bytes, start, length);
+            start += length;
+        }
+    }
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values) throws IOException {
+        for (int start = 0; start < values.length; ) {
+            ensureRemaining(channel, buffer, Integer.BYTES);
+            int length = Math.min(buffer.remaining() / Integer.BYTES, values.length - start);
+            buffer.asIntBuffer().put(values, start, length);
+            buffer.position(buffer.position() + length * Integer.BYTES);
+            start += length;
+        }
+    }
+
+    private static void ensureRemaining(FileChannel channel, ByteBuffer buffer, int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush(channel, buffer);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
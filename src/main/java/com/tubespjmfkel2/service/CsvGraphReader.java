@@ -0,0 +1,272 @@
+package com.tubespjmfkel2.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import com.tubespjmfkel2.domain.Edge;
+import com.tubespjmfkel2.domain.Graph;
+import com.tubespjmfkel2.domain.Vertex;
+import com.tubespjmfkel2.dto.ImportResult;
+
+/**
+ * Loader CSV graf tanpa ketergantungan pada UI.
+ * <p>
+ * Format file: baris header {@code TYPE,SOURCE,DESTINATION,WEIGHT}, lalu
+ * satu baris per vertex ({@code V,nama,,}) atau per edge
+ * ({@code E,asal,tujuan,bobot}). Urutan kolom dibaca dari header; jika
+ * baris pertama bukan header, urutan kolom di atas yang dipakai. Kolom
+ * opsional {@code X} dan {@code Y} berisi koordinat vertex, dan kolom
+ * opsional {@code CATEGORY} berisi kategori vertex (misalnya Bengkel) pada baris V.
+ * <p>
+ * File dibaca secara streaming per blok baris. Setiap blok di-parse secara
+ * paralel, lalu baris-barisnya divalidasi secara berurutan sesuai urutan di
+ * file dengan aturan yang sama seperti {@link GraphService#addVertex} dan
+ * {@link GraphService#addEdge}. Vertex dan edge yang valid dikumpulkan dan
+ * dimasukkan ke graf sekaligus melalui {@link Graph#addAll} setelah seluruh
+ * file terbaca, sehingga graf hanya berubah satu kali.
+ */
+public class CsvGraphReader {
+
+    /**
+     * Jumlah baris per blok yang di-parse secara paralel
+     */
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private int typeColumn = 0;
+
+    private int sourceColumn = 1;
+
+    private int destinationColumn = 2;
+
+    private int weightColumn = 3;
+
+    private int xColumn = -1;
+
+    private int yColumn = -1;
+
+    private int categoryColumn = -1;
+
+    /**
+     * Satu baris CSV yang sudah di-parse; null jika baris tidak valid.
+     */
+    private record Row(boolean vertex, String source, String destination, int weight, double x, double y,
+                       String category) {
+    }
+
+    /**
+     * Membaca file CSV dan menambahkan isinya ke graf.
+     *
+     * @param path         lokasi file CSV
+     * @param graphService graf tujuan
+     * @return statistik import
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public static ImportResult load(Path path, GraphService graphService) throws IOException {
+        return new CsvGraphReader().read(path, graphService);
+    }
+
+    private ImportResult read(Path path, GraphService graphService) throws IOException {
+        long startTime = System.nanoTime();
+        int skippedRows = 0;
+
+        Graph graph = graphService.getGraph();
+        List<Vertex> newVertices = new ArrayList<>();
+        Map<String, Integer> newIds = new HashMap<>();
+        int[] degrees = new int[16];
+        List<Edge> newEdges = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+
+            List<String> lines = new ArrayList<>(CHUNK_SIZE);
+            String line = reader.readLine();
+
+            if (line != null && !readHeader(line)) {
+                lines.add(line);
+            }
+
+            boolean endOfFile = line == null;
+            while (!endOfFile) {
+                line = reader.readLine();
+                endOfFile = line == null;
+                if (!endOfFile)
+                    lines.add(line);
+
+                if (lines.size() < CHUNK_SIZE && !endOfFile)
+                    continue;
+
+                for (Row row : parseChunk(lines)) {
+                    if (row == null) {
+                        skippedRows++;
+                    } else if (row.vertex()) {
+                        String name = row.source();
+                        if (name.isBlank() || graph.getVertex(name) != null || newIds.containsKey(name)) {
+                            skippedRows++;
+                            continue;
+                        }
+                        Vertex vertex = new Vertex();
+                        vertex.setName(name);
+                        vertex.setCoordinates(row.x(), row.y());
+                        vertex.setCategory(row.category() == null || row.category().isBlank() ? null : row.category());
+                        newIds.put(name, newVertices.size());
+                        newVertices.add(vertex);
+                        if (newVertices.size() > degrees.length)
+                            degrees = Arrays.copyOf(degrees, degrees.length * 2);
+                    } else {
+                        Vertex source = vertexOf(row.source(), graph, newVertices, newIds);
+                        Vertex destination = vertexOf(row.destination(), graph, newVertices, newIds);
+                        if (source == null || destination == null || source == destination || row.weight() <= 0) {
+                            skippedRows++;
+                            continue;
+                        }
+                        newEdges.add(new Edge(source, destination, row.weight()));
+                        countDegree(row.source(), newIds, degrees);
+                        countDegree(row.destination(), newIds, degrees);
+                    }
+                }
+                lines.clear();
+            }
+        }
+
+        // Daftar tetangga vertex baru dibuat dengan ukuran pas
+        for (int i = 0; i < newVertices.size(); i++) {
+            newVertices.get(i).setNeighbors(new ArrayList<>(degrees[i]));
+        }
+        graph.addAll(newVertices, newEdges);
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        return new ImportResult(newVertices.size(), newEdges.size(), skippedRows, elapsedMillis);
+    }
+
+    /**
+     * @return vertex graf atau vertex baru dari file dengan nama tersebut, atau null jika tidak ada
+     */
+    private static Vertex vertexOf(String name, Graph graph, List<Vertex> newVertices, Map<String, Integer> newIds) {
+        Integer id = newIds.get(name);
+        return id != null ? newVertices.get(id) : graph.getVertex(name);
+    }
+
+    private static void countDegree(String name, Map<String, Integer> newIds, int[] degrees) {
+        Integer id = newIds.get(name);
+        if (id != null)
+            degrees[id]++;
+    }
+
+    /**
+     * Membaca posisi kolom dari baris header.
+     *
+     * @param line baris pertama file, boleh diawali BOM UTF-8
+     * @return true jika baris tersebut adalah header
+     */
+    private boolean readHeader(String line) {
+        String[] columns = split(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        if (!columns[0].trim().equalsIgnoreCase("type"))
+            return false;
+
+        for (int i = 0; i < columns.length; i++) {
+            switch (columns[i].trim().toLowerCase(Locale.ROOT)) {
+                case "type" -> typeColumn = i;
+                case "source" -> sourceColumn = i;
+                case "destination" -> destinationColumn = i;
+                case "weight" -> weightColumn = i;
+                case "x" -> xColumn = i;
+                case "y" -> yColumn = i;
+                case "category" -> categoryColumn = i;
+                default -> {
+                    // kolom lain diabaikan
+                }
+            }
+        }
+        return true;
+    }
+
+    private Row[] parseChunk(List<String> lines) {
+        Row[] rows = new Row[lines.size()];
+        IntStream.range(0, rows.length)
+                .parallel()
+                .forEach(i -> rows[i] = parseRow(lines.get(i)));
+        return rows;
+    }
+
+    private Row parseRow(String line) {
+        if (line.isBlank())
+            return null;
+
+        String[] columns = split(line);
+        String type = column(columns, typeColumn);
+        String source = column(columns, sourceColumn);
+
+        try {
+            if (type.equalsIgnoreCase("V")) {
+                return new Row(true, source, null, 0,
+                        coordinate(columns, xColumn), coordinate(columns, yColumn),
+                        categoryColumn < 0 ? null : column(columns, categoryColumn));
+            }
+
+            if (type.equalsIgnoreCase("E")) {
+                int weight = Integer.parseInt(column(columns, weightColumn));
+                return new Row(false, source, column(columns, destinationColumn), weight, Double.NaN, Double.NaN, null);
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * @return nilai koordinat, atau NaN jika kolom tidak ada atau kosong
+     */
+    private static double coordinate(String[] columns, int index) {
+        String value = index < 0 ? "" : column(columns, index);
+        return value.isEmpty() ? Double.NaN : Double.parseDouble(value);
+    }
+
+    private static String column(String[] columns, int index) {
+        return index < columns.length ? columns[index].trim() : "";
+    }
+
+    /**
+     * Memecah satu baris CSV menjadi kolom. Kolom boleh diapit tanda kutip
+     * ganda, dan {@code ""} di dalamnya dibaca sebagai satu tanda kutip.
+     */
+    static String[] split(String line) {
+        if (line.indexOf('"') < 0)
+            return line.split(",", -1);
+
+        List<String> columns = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                columns.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        columns.add(current.toString());
+        return columns.toArray(new String[0]);
+    }
+}
@@ -1,55 +1,939 @@
 package com.tubespjmfkel2.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongConsumer;
+import java.util.stream.IntStream;
 
-import com.tubespjmfkel2.dto.DijkstraResult;
+import com.tubespjmfkel2.algorithm.AStar;
+import com.tubespjmfkel2.algorithm.BidirectionalDijkstra;
+import com.tubespjmfkel2.algorithm.ContractionHierarchy;
 import com.tubespjmfkel2.algorithm.Dijkstra;
-import com.tubespjmfkel2.domain.Vertex;
+import com.tubespjmfkel2.algorithm.DynamicShortestPath;
+import com.tubespjmfkel2.algorithm.Heuristic;
+import com.tubespjmfkel2.algorithm.Heuristics;
+import com.tubespjmfkel2.algorithm.Landmarks;
+import com.tubespjmfkel2.algorithm.SearchContext;
+import com.tubespjmfkel2.algorithm.SearchContextPool;
+import com.tubespjmfkel2.algorithm.SearchMonitor;
+import com.tubespjmfkel2.domain.CsrGraph;
+import com.tubespjmfkel2.domain.EdgeChange;
+import com.tubespjmfkel2.domain.Graph;
+import com.tubespjmfkel2.dto.DijkstraResult;
+import com.tubespjmfkel2.dto.DistanceMatrix;
+import com.tubespjmfkel2.dto.ShortestPathTree;
+import com.tubespjmfkel2.dto.VoronoiPartition;
 
+/**
+ * Menjalankan query rute terpendek di atas snapshot graf milik {@link GraphService}.
+ * <p>
+ * State pencarian tidak lagi disimpan pada objek {@code Vertex} bersama,
+ * melainkan pada {@link SearchContext} yang dipinjam dari pool. Karena
+ * snapshot tidak dapat diubah dan setiap query memakai context sendiri,
+ * banyak thread dapat memanggil {@link #findShortestPath} bersamaan tanpa
+ * penguncian dan tanpa reset O(V) sebelum setiap query.
+ */
 public class DijkstraService {
 
+    /**
+     * Algoritma yang dipakai untuk query point-to-point.
+     */
+    public enum Algorithm {
+        /**
+         * Dijkstra satu arah dengan early exit saat tujuan settled
+         */
+        DIJKSTRA,
+        /**
+         * Dijkstra dua arah yang berhenti saat kedua pencarian bertemu
+         */
+        BIDIRECTIONAL,
+        /**
+         * A* dengan heuristik yang diatur melalui {@link #setHeuristic}
+         */
+        A_STAR,
+        /**
+         * A* dengan batas bawah dari landmark (lihat {@link #prepareLandmarks}).
+         * Selama landmark belum sesuai dengan graf, query dijawab dengan
+         * Dijkstra dua arah sambil landmark dibentuk ulang di latar belakang.
+         */
+        ALT,
+        /**
+         * Query dua arah di atas Contraction Hierarchies (lihat {@link #prepareContractionHierarchy}).
+         * Selama hierarki belum sesuai dengan graf, query dijawab dengan
+         * Dijkstra dua arah sambil hierarki dibentuk ulang di latar belakang.
+         */
+        CONTRACTION_HIERARCHIES
+    }
+
+    /**
+     * Jumlah landmark jika ALT dipakai sebelum {@link #prepareLandmarks} dipanggil
+     */
+    private static final int DEFAULT_LANDMARK_COUNT = 8;
+
+    /**
+     * Jumlah rute maksimum yang disimpan di cache
+     */
+    private static final int ROUTE_CACHE_CAPACITY = 10_000;
+
+    /**
+     * Jumlah pohon rute terpendek yang disimpan; setiap pohon berukuran O(V)
+     */
+    private static final int TREE_CACHE_CAPACITY = 16;
+
     private GraphService graphService;
 
+    private volatile SearchContextPool contextPool = new SearchContextPool(0);
+
+    private volatile Algorithm algorithm = Algorithm.DIJKSTRA;
+
+    private volatile Heuristic heuristic = Heuristics.zero();
+
+    private volatile Landmarks landmarks;
+
+    private volatile ContractionHierarchy hierarchy;
+
+    private volatile ExecutorService queryExecutor;
+
+    /**
+     * Thread tunggal untuk membentuk ulang data preprocessing yang usang
+     */
+    private volatile ExecutorService preprocessExecutor;
+
+    /**
+     * Jumlah landmark yang dipakai saat landmark dibentuk ulang
+     */
+    private volatile int landmarkCount = DEFAULT_LANDMARK_COUNT;
+
+    /**
+     * Penjaga agar preprocessing ALT hanya dijalankan oleh satu thread pada satu waktu
+     */
+    private final Object landmarkLock = new Object();
+
+    /**
+     * true jika pembentukan ulang landmark sudah dijadwalkan di latar belakang
+     */
+    private final AtomicBoolean landmarkRebuildPending = new AtomicBoolean();
+
+    /**
+     * Penjaga agar kontraksi hierarki hanya dijalankan oleh satu thread pada satu waktu
+     */
+    private final Object hierarchyLock = new Object();
+
+    /**
+     * true jika pembentukan ulang hierarki sudah dijadwalkan di latar belakang
+     */
+    private final AtomicBoolean hierarchyRebuildPending = new AtomicBoolean();
+
+    private final RouteCache routeCache = new RouteCache(ROUTE_CACHE_CAPACITY);
+
+    private final RoutingMetrics metrics = RoutingMetrics.get();
+
+    /**
+     * Pohon rute terpendek terbaru berdasarkan nama titik awal (LRU)
+     */
+    private final Map<String, ShortestPathTree> treeCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, ShortestPathTree> eldest) {
+            return size() > TREE_CACHE_CAPACITY;
+        }
+    };
+
     public DijkstraService(GraphService graphService) {
         this.graphService = graphService;
     }
 
+    public Algorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    public void setAlgorithm(Algorithm algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Mengatur heuristik untuk {@link Algorithm#A_STAR}. Heuristik harus
+     * admissible terhadap bobot edge, misalnya {@link Heuristics#haversine()}
+     * jika koordinat berupa bujur/lintang dan bobot dalam km.
+     *
+     * @param heuristic heuristik A*
+     */
+    public void setHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Menjalankan preprocessing ALT pada snapshot graf saat ini. Hasilnya
+     * dipakai oleh {@link Algorithm#ALT} sampai graf berubah. Jika thread lain
+     * sedang membentuk landmark, pemanggil menunggu lalu memakai hasil tersebut
+     * bila sudah sesuai dengan snapshot saat ini.
+     *
+     * @param count jumlah landmark
+     * @return hasil preprocessing
+     */
+    public Landmarks prepareLandmarks(int count) {
+        synchronized (landmarkLock) {
+            landmarkCount = count;
+            CsrGraph graph = graphService.getGraph().snapshot();
+            Landmarks current = landmarks;
+            if (current != null && current.getGraph() == graph && current.getLandmarkCount() == count)
+                return current;
+
+            Landmarks prepared = Landmarks.compute(graph, count);
+            landmarks = prepared;
+            return prepared;
+        }
+    }
+
+    /**
+     * Mengembalikan landmark untuk snapshot tertentu. Jika landmark belum ada
+     * atau dibuat dari snapshot lama (misalnya setelah bobot edge berubah),
+     * batas bawahnya tidak lagi dapat dipercaya: landmark dibentuk ulang di
+     * latar belakang dan query saat ini tidak menunggu.
+     *
+     * @return landmark yang sesuai, atau null jika query harus memakai algoritma lain
+     */
+    private Landmarks landmarks(CsrGraph graph) {
+        Landmarks current = landmarks;
+        if (current != null && current.getGraph() == graph)
+            return current;
+
+        if (landmarkRebuildPending.compareAndSet(false, true)) {
+            preprocessExecutor().execute(() -> {
+                try {
+                    prepareLandmarks(landmarkCount);
+                } finally {
+                    landmarkRebuildPending.set(false);
+                }
+            });
+        }
+        return null;
+    }
+
+    /**
+     * Executor preprocessing; satu thread daemon agar pembentukan ulang tidak
+     * berjalan ganda dan tidak menahan aplikasi saat ditutup.
+     */
+    private ExecutorService preprocessExecutor() {
+        ExecutorService executor = preprocessExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = preprocessExecutor;
+                if (executor == null) {
+                    executor = Executors.newSingleThreadExecutor(task -> {
+                        Thread thread = new Thread(task, "route-preprocess");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    preprocessExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    /**
+     * Menjalankan preprocessing Contraction Hierarchies pada snapshot graf
+     * saat ini. Hasilnya dipakai oleh {@link Algorithm#CONTRACTION_HIERARCHIES}
+     * sampai graf berubah. Jika thread lain sedang membentuk hierarki,
+     * pemanggil menunggu lalu memakai hasil tersebut bila sudah sesuai dengan
+     * snapshot saat ini.
+     *
+     * @return hierarki yang sudah dibentuk
+     */
+    public ContractionHierarchy prepareContractionHierarchy() {
+        synchronized (hierarchyLock) {
+            CsrGraph graph = graphService.getGraph().snapshot();
+            ContractionHierarchy current = hierarchy;
+            if (current != null && current.getGraph() == graph)
+                return current;
+
+            ContractionHierarchy prepared = ContractionHierarchy.build(graph);
+            hierarchy = prepared;
+            return prepared;
+        }
+    }
+
+    /**
+     * Menyimpan hierarki untuk graf saat ini ke file (dibentuk dahulu jika belum ada).
+     *
+     * @param path lokasi file tujuan
+     * @throws IOException jika file tidak dapat ditulis
+     */
+    public void saveContractionHierarchy(Path path) throws IOException {
+        prepareContractionHierarchy().write(path);
+    }
+
+    /**
+     * Memuat hierarki yang sebelumnya disimpan untuk graf yang sama, sehingga
+     * preprocessing tidak perlu diulang.
+     *
+     * @param path lokasi file hierarki
+     * @throws IOException jika file tidak dapat dibaca atau dibuat dari graf lain
+     */
+    public void loadContractionHierarchy(Path path) throws IOException {
+        ContractionHierarchy loaded = ContractionHierarchy.read(path, graphService.getGraph().snapshot());
+        synchronized (hierarchyLock) {
+            hierarchy = loaded;
+        }
+    }
+
+    /**
+     * Mengembalikan hierarki untuk snapshot tertentu. Kontraksi adalah langkah
+     * preprocessing termahal, sehingga tidak pernah dijalankan di tengah query:
+     * jika hierarki belum ada atau dibuat dari snapshot lama (misalnya setelah
+     * bobot edge berubah), hierarki dibentuk ulang di latar belakang.
+     *
+     * @return hierarki yang sesuai, atau null jika query harus memakai algoritma lain
+     */
+    private ContractionHierarchy hierarchy(CsrGraph graph) {
+        ContractionHierarchy current = hierarchy;
+        if (current != null && current.getGraph() == graph)
+            return current;
+
+        if (hierarchyRebuildPending.compareAndSet(false, true)) {
+            preprocessExecutor().execute(() -> {
+                try {
+                    prepareContractionHierarchy();
+                } finally {
+                    hierarchyRebuildPending.set(false);
+                }
+            });
+        }
+        return null;
+    }
+
     public DijkstraResult findShortestPath(String vertexStartInput, String vertexEndInput) {
+        return findShortestPath(vertexStartInput, vertexEndInput, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Mencari rute terpendek dengan batas jarak. Pencarian berhenti segera
+     * setelah tujuan ditemukan, atau setelah seluruh titik dalam radius
+     * {@code maxDistance} diproses.
+     *
+     * @param vertexStartInput nama titik awal
+     * @param vertexEndInput   nama titik tujuan
+     * @param maxDistance      batas jarak rute
+     * @return hasil rute, atau null jika tidak ada rute dalam batas jarak
+     */
+    public DijkstraResult findShortestPath(String vertexStartInput, String vertexEndInput, int maxDistance) {
+        return findShortestPath(vertexStartInput, vertexEndInput, maxDistance, null);
+    }
+
+    /**
+     * Mencari rute terpendek di thread milik service, sehingga pemanggil
+     * (misalnya event thread Swing) tidak ikut menunggu.
+     * <p>
+     * Membatalkan future yang dikembalikan juga menghentikan pencarian yang
+     * sedang berjalan pada pemeriksaan berikutnya, misalnya ketika query
+     * tersebut sudah digantikan oleh query baru.
+     *
+     * @param vertexStartInput nama titik awal
+     * @param vertexEndInput   nama titik tujuan
+     * @param progress         penerima jumlah titik yang sudah diproses (dipanggil
+     *                         dari thread pencarian), boleh null
+     * @return hasil rute, berisi null jika tidak ada rute
+     */
+    public CompletableFuture<DijkstraResult> findShortestPathAsync(
+            String vertexStartInput, String vertexEndInput, LongConsumer progress) {
+
+        SearchMonitor monitor = new SearchMonitor(progress);
+        CompletableFuture<DijkstraResult> future = new CompletableFuture<>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                monitor.cancel();
+                return super.cancel(mayInterruptIfRunning);
+            }
+        };
+
+        queryExecutor().execute(() -> {
+            // Sudah dibatalkan sebelum sempat berjalan
+            if (future.isDone())
+                return;
+            try {
+                DijkstraResult result = findShortestPath(vertexStartInput, vertexEndInput, Integer.MAX_VALUE, monitor);
+                if (monitor.isCancelled())
+                    future.cancel(false);
+                else
+                    future.complete(result);
+            } catch (RuntimeException error) {
+                future.completeExceptionally(error);
+            }
+        });
+        return future;
+    }
 
-        Vertex vertexStart = graphService.findVertex(vertexStartInput);
-        Vertex vertexEnd = graphService.findVertex(vertexEndInput);
+    /**
+     * Executor khusus query asinkron; thread daemon agar tidak menahan aplikasi saat ditutup.
+     */
+    private ExecutorService queryExecutor() {
+        ExecutorService executor = queryExecutor;
+        if (executor == null) {
+            synchronized (this) {
+                executor = queryExecutor;
+                if (executor == null) {
+                    AtomicInteger threadNumber = new AtomicInteger();
+                    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), task -> {
+                        Thread thread = new Thread(task, "route-query-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    queryExecutor = executor;
+                }
+            }
+        }
+        return executor;
+    }
+
+    private DijkstraResult findShortestPath(
+            String vertexStartInput, String vertexEndInput, int maxDistance, SearchMonitor monitor) {
+        long start = metrics.startTimer();
+        try {
+            return computeShortestPath(vertexStartInput, vertexEndInput, maxDistance, monitor);
+        } finally {
+            metrics.recordRouteQuery(start);
+        }
+    }
+
+    private DijkstraResult computeShortestPath(
+            String vertexStartInput, String vertexEndInput, int maxDistance, SearchMonitor monitor) {
+
+        // Versi dibaca sebelum snapshot agar hasil tidak pernah disimpan dengan versi yang lebih baru
+        long version = graphService.getGraph().getVersion();
+
+        DijkstraResult cached = routeCache.get(vertexStartInput, vertexEndInput, version);
+        if (cached != null) {
+            metrics.recordRouteCacheHit();
+            if (cached == RouteCache.NO_ROUTE || cached.getDistance() > maxDistance)
+                return null;
+            return cached;
+        }
+
+        CsrGraph graph = graphService.getGraph().snapshot();
+
+        int vertexStart = graph.idOf(vertexStartInput);
+        int vertexEnd = graph.idOf(vertexEndInput);
 
-        if (vertexStart == null || vertexEnd == null)
+        if (vertexStart < 0 || vertexEnd < 0)
             return null;
 
-        // Kasus start == end
-        if (vertexStartInput.equals(vertexEndInput))
-            return new DijkstraResult(List.of(vertexStartInput), 0);
+        // Pohon dari titik awal yang sama sudah ada: cukup telusuri parent
+        ShortestPathTree tree = cachedTree(vertexStartInput, version);
+        if (tree != null)
+            metrics.recordTreeCacheHit();
+        DijkstraResult result = tree != null
+                ? tree.pathTo(vertexEndInput)
+                : search(graph, vertexStart, vertexEnd, maxDistance, monitor);
+
+        // Hasil pencarian yang dibatalkan belum tentu benar
+        if (monitor != null && monitor.isCancelled())
+            return null;
+
+        if (tree != null && result != null && result.getDistance() > maxDistance)
+            return null;
+
+        // Hanya hasil tanpa batas jarak yang disimpan, agar "tidak ada rute" selalu berarti tidak terhubung
+        if (maxDistance == Integer.MAX_VALUE)
+            routeCache.put(vertexStartInput, vertexEndInput, version, result);
+
+        return result;
+    }
+
+    /**
+     * Menghitung pohon rute terpendek dari satu titik ke seluruh titik lain.
+     * Pohon terbaru disimpan per titik awal, sehingga query lanjutan dari
+     * titik awal yang sama ke tujuan lain tidak memerlukan pencarian ulang.
+     *
+     * @param source nama titik awal
+     * @return pohon rute terpendek, atau null jika titik tidak ditemukan
+     */
+    public ShortestPathTree shortestPathTree(String source) {
+        long version = graphService.getGraph().getVersion();
+        ShortestPathTree tree = cachedTree(source, version);
+        if (tree != null) {
+            metrics.recordTreeCacheHit();
+            return tree;
+        }
 
-        // Reset dahulu distance dan shortestpathnya
-        for (Vertex vertex : graphService.getGraph().getVertices()) {
-            vertex.setDistance(Integer.MAX_VALUE);
-            vertex.getShortestPath().clear();
+        long start = metrics.startTimer();
+
+        CsrGraph graph = graphService.getGraph().snapshot();
+        int vertexSource = graph.idOf(source);
+        if (vertexSource < 0)
+            return null;
+
+        int vertexCount = graph.getVertexCount();
+        long[] distances = new long[vertexCount];
+        int[] parents = new int[vertexCount];
+
+        SearchContextPool pool = contextPool(graph);
+        SearchContext context = pool.acquire();
+        try {
+            Dijkstra.calculateShortestPath(graph, context, vertexSource, -1, Long.MAX_VALUE);
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                distances[vertex] = context.getDistance(vertex);
+                parents[vertex] = context.getPredecessor(vertex);
+            }
+            metrics.recordSearch(context);
+        } finally {
+            pool.release(context);
+        }
+
+        tree = new ShortestPathTree(graph, version, vertexSource, distances, parents);
+        synchronized (treeCache) {
+            treeCache.put(source, tree);
+        }
+        metrics.recordOtherQuery(start);
+        return tree;
+    }
+
+    /**
+     * Mencari {@code k} titik berkategori tertentu (misalnya "Bengkel") yang
+     * paling dekat dari titik awal, beserta rutenya.
+     *
+     * @param vertexStartInput nama titik awal
+     * @param category         nama kategori yang dicari
+     * @param k                jumlah hasil maksimum
+     * @return rute ke setiap titik hasil, urut dari yang terdekat (kosong jika
+     *         kategori tidak ada atau tidak terjangkau), atau null jika titik
+     *         awal tidak ditemukan
+     */
+    public List<DijkstraResult> findNearest(String vertexStartInput, String category, int k) {
+        if (k <= 0)
+            throw new IllegalArgumentException("Jumlah hasil harus positif");
+
+        CsrGraph graph = graphService.getGraph().snapshot();
+        int vertexStart = graph.idOf(vertexStartInput);
+        if (vertexStart < 0)
+            return null;
+
+        int categoryId = graph.categoryIdOf(category);
+        if (categoryId < 0)
+            return List.of();
+
+        long start = metrics.startTimer();
+        int[] found = new int[k];
+        SearchContextPool pool = contextPool(graph);
+        SearchContext context = pool.acquire();
+        try {
+            int count = Dijkstra.findNearest(graph, context, vertexStart, categoryId, k, Long.MAX_VALUE, found);
+            metrics.recordSearch(context);
+
+            List<DijkstraResult> results = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                results.add(toResult(graph, context.pathTo(found[i]), context.getDistance(found[i])));
+            }
+            return Collections.unmodifiableList(results);
+        } finally {
+            pool.release(context);
+            metrics.recordOtherQuery(start);
+        }
+    }
+
+    /**
+     * Mencari rute dari satu titik awal ke beberapa titik tujuan dengan satu
+     * pencarian one-to-many yang berhenti setelah seluruh tujuan settled,
+     * sehingga tidak perlu membangun pohon rute ke seluruh graf.
+     *
+     * @param source  nama titik awal
+     * @param targets nama titik tujuan
+     * @return rute ke setiap tujuan sesuai urutan {@code targets}, dengan
+     *         elemen null untuk tujuan yang tidak ditemukan atau tidak
+     *         terjangkau, atau null jika titik awal tidak ditemukan
+     */
+    public List<DijkstraResult> findShortestPaths(String source, List<String> targets) {
+        long version = graphService.getGraph().getVersion();
+        ShortestPathTree tree = cachedTree(source, version);
+        if (tree != null) {
+            metrics.recordTreeCacheHit();
+            List<DijkstraResult> results = new ArrayList<>(targets.size());
+            for (String target : targets) {
+                results.add(tree.pathTo(target));
+            }
+            return results;
+        }
+
+        CsrGraph graph = graphService.getGraph().snapshot();
+        int vertexSource = graph.idOf(source);
+        if (vertexSource < 0)
+            return null;
+
+        long start = metrics.startTimer();
+        int[] targetIds = new int[targets.size()];
+        boolean[] isTarget = new boolean[graph.getVertexCount()];
+        int targetCount = 0;
+        for (int i = 0; i < targetIds.length; i++) {
+            targetIds[i] = graph.idOf(targets.get(i));
+            if (targetIds[i] >= 0 && !isTarget[targetIds[i]]) {
+                isTarget[targetIds[i]] = true;
+                targetCount++;
+            }
+        }
+
+        SearchContextPool pool = contextPool(graph);
+        SearchContext context = pool.acquire();
+        try {
+            Dijkstra.calculateShortestPathToTargets(graph, context, vertexSource, isTarget, targetCount);
+            metrics.recordSearch(context);
+
+            List<DijkstraResult> results = new ArrayList<>(targetIds.length);
+            for (int target : targetIds) {
+                long distance = target < 0 ? Long.MAX_VALUE : context.getDistance(target);
+                results.add(distance == Long.MAX_VALUE
+                        ? null
+                        : toResult(graph, context.pathTo(target), distance));
+            }
+            return results;
+        } finally {
+            pool.release(context);
+            metrics.recordOtherQuery(start);
+        }
+    }
+
+    /**
+     * Menghitung tabel jarak dari setiap titik asal ke setiap titik tujuan.
+     * <p>
+     * Setiap baris dihitung dengan satu pencarian one-to-many yang berhenti
+     * setelah seluruh tujuan settled, dan baris-baris dijalankan paralel pada
+     * common {@link java.util.concurrent.ForkJoinPool} dengan context dari
+     * pool. Karena graf tidak berarah, pencarian dimulai dari sisi yang lebih
+     * kecil (misalnya 200 pencarian, bukan 2.000, untuk tabel 2.000 x 200).
+     *
+     * @param sources nama titik asal
+     * @param targets nama titik tujuan
+     * @return tabel jarak, atau null jika ada titik yang tidak ditemukan
+     */
+    public DistanceMatrix distanceMatrix(List<String> sources, List<String> targets) {
+        if ((long) sources.size() * targets.size() > Integer.MAX_VALUE - 8)
+            throw new IllegalArgumentException("Tabel jarak terlalu besar");
+
+        long start = metrics.startTimer();
+        CsrGraph graph = graphService.getGraph().snapshot();
+        int[] sourceIds = idsOf(graph, sources);
+        int[] targetIds = idsOf(graph, targets);
+        if (sourceIds == null || targetIds == null)
+            return null;
+
+        // Pencarian dari sisi yang lebih kecil; hasil ditulis ke posisi yang ditukar
+        boolean transposed = targetIds.length < sourceIds.length;
+        int[] origins = transposed ? targetIds : sourceIds;
+        int[] destinations = transposed ? sourceIds : targetIds;
+
+        boolean[] isDestination = new boolean[graph.getVertexCount()];
+        int destinationCount = 0;
+        for (int destination : destinations) {
+            if (!isDestination[destination]) {
+                isDestination[destination] = true;
+                destinationCount++;
+            }
+        }
+        int distinctDestinations = destinationCount;
+
+        long[] distances = new long[sourceIds.length * targetIds.length];
+        int columns = targetIds.length;
+        SearchContextPool pool = contextPool(graph);
+
+        IntStream.range(0, origins.length).parallel().forEach(origin -> {
+            SearchContext context = pool.acquire();
+            try {
+                Dijkstra.calculateShortestPathToTargets(
+                        graph, context, origins[origin], isDestination, distinctDestinations);
+                for (int destination = 0; destination < destinations.length; destination++) {
+                    long distance = context.getDistance(destinations[destination]);
+                    if (transposed)
+                        distances[destination * columns + origin] = distance;
+                    else
+                        distances[origin * columns + destination] = distance;
+                }
+                metrics.recordSearch(context);
+            } finally {
+                pool.release(context);
+            }
+        });
+
+        metrics.recordOtherQuery(start);
+        return new DistanceMatrix(sources, targets, distances);
+    }
+
+    /**
+     * @return id vertex untuk setiap nama, atau null jika ada nama yang tidak ditemukan
+     */
+    private static int[] idsOf(CsrGraph graph, List<String> names) {
+        int[] ids = new int[names.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = graph.idOf(names.get(i));
+            if (ids[i] < 0)
+                return null;
+        }
+        return ids;
+    }
+
+    /**
+     * Membagi seluruh titik graf ke titik sumber terdekatnya dengan satu
+     * pencarian multi-source.
+     *
+     * @param sources nama titik sumber
+     * @return hasil pembagian, atau null jika ada titik sumber yang tidak ditemukan
+     */
+    public VoronoiPartition partitionBySource(List<String> sources) {
+        CsrGraph graph = graphService.getGraph().snapshot();
+
+        int[] sourceIds = idsOf(graph, sources);
+        return sourceIds == null ? null : partition(graph, sourceIds);
+    }
+
+    /**
+     * Membagi seluruh titik graf ke titik berkategori tertentu yang terdekat,
+     * misalnya setiap titik ke bengkel terdekat.
+     *
+     * @param category nama kategori titik sumber
+     * @return hasil pembagian (tanpa sumber jika kategori tidak ada)
+     */
+    public VoronoiPartition partitionByCategory(String category) {
+        CsrGraph graph = graphService.getGraph().snapshot();
+        int categoryId = graph.categoryIdOf(category);
+
+        int count = 0;
+        int[] sourceIds = new int[graph.getVertexCount()];
+        for (int vertex = 0; categoryId >= 0 && vertex < graph.getVertexCount(); vertex++) {
+            if (graph.getCategory(vertex) == categoryId)
+                sourceIds[count++] = vertex;
         }
-        // Jalankan Dijkstra
-        Dijkstra.calculateShortestPathFromSource(vertexStart);
+        return partition(graph, Arrays.copyOf(sourceIds, count));
+    }
 
-        // Jika tidak ada jalur (distance tetap MAX_VALUE)
-        if (vertexEnd.getDistance() == Integer.MAX_VALUE) {
+    private VoronoiPartition partition(CsrGraph graph, int[] sources) {
+        long start = metrics.startTimer();
+        int[] distances = new int[graph.getVertexCount()];
+        int[] nearestSources = new int[graph.getVertexCount()];
+        Dijkstra.calculateNearestSource(graph, sources, distances, nearestSources);
+        metrics.recordOtherQuery(start);
+        return new VoronoiPartition(graph, sources, distances, nearestSources);
+    }
+
+    /**
+     * @return pohon tersimpan untuk titik awal tersebut jika masih sesuai versi graf, atau null
+     */
+    private ShortestPathTree cachedTree(String source, long version) {
+        ShortestPathTree tree;
+        synchronized (treeCache) {
+            tree = treeCache.get(source);
+            if (tree == null)
+                return null;
+            if (tree.getGraphVersion() == version)
+                return tree;
+            treeCache.remove(source);
+        }
+
+        // Graf berubah: perbaiki pohon lama bila hanya edge yang berubah
+        ShortestPathTree repaired = repairTree(tree, version);
+        if (repaired != null) {
+            synchronized (treeCache) {
+                treeCache.put(source, repaired);
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * Memperbaiki salinan pohon lama agar sesuai dengan versi graf saat ini.
+     * Hanya subtree yang terpengaruh perubahan edge yang dihitung ulang.
+     *
+     * @return pohon yang sudah diperbaiki, atau null jika pohon harus dihitung dari awal
+     */
+    private ShortestPathTree repairTree(ShortestPathTree tree, long version) {
+        Graph graph = graphService.getGraph();
+        List<EdgeChange> changes = graph.changesSince(tree.getGraphVersion());
+        if (changes == null)
             return null;
+
+        CsrGraph snapshot = graph.snapshot();
+        // Snapshot harus berasal dari versi yang sama dengan daftar perubahan
+        if (graph.getVersion() != version || snapshot.getVertexCount() != tree.getGraph().getVertexCount())
+            return null;
+
+        int[] changed = new int[changes.size() * 2];
+        int count = 0;
+        for (EdgeChange change : changes) {
+            if (change.getVersion() > version)
+                break;
+            changed[count++] = snapshot.idOf(change.getSource().getName());
+            changed[count++] = snapshot.idOf(change.getDestination().getName());
+        }
+
+        int vertexCount = snapshot.getVertexCount();
+        long[] distances = new long[vertexCount];
+        int[] parents = new int[vertexCount];
+        for (int vertex = 0; vertex < vertexCount; vertex++) {
+            distances[vertex] = tree.getDistance(vertex);
+            parents[vertex] = tree.getParent(vertex);
+        }
+
+        SearchContextPool pool = contextPool(snapshot);
+        SearchContext context = pool.acquire();
+        try {
+            DynamicShortestPath.repair(snapshot, context, tree.getSource(), distances, parents,
+                    Arrays.copyOf(changed, count));
+        } finally {
+            pool.release(context);
+        }
+        return new ShortestPathTree(snapshot, version, tree.getSource(), distances, parents);
+    }
+
+    /**
+     * Statistik cache rute (hit, miss, ukuran).
+     *
+     * @return cache rute milik service ini
+     */
+    public RouteCache getRouteCache() {
+        return routeCache;
+    }
+
+    private DijkstraResult search(
+            CsrGraph graph, int vertexStart, int vertexEnd, long maxDistance, SearchMonitor monitor) {
+
+        // Kasus start == end
+        if (vertexStart == vertexEnd)
+            return new DijkstraResult(List.of(graph.nameOf(vertexStart)), 0);
+
+        if (algorithm == Algorithm.BIDIRECTIONAL)
+            return findBidirectional(graph, vertexStart, vertexEnd, maxDistance, monitor);
+        if (algorithm == Algorithm.CONTRACTION_HIERARCHIES) {
+            // Hierarki sedang dibentuk ulang: jawab dengan Dijkstra dua arah agar query tidak menunggu
+            ContractionHierarchy currentHierarchy = hierarchy(graph);
+            return currentHierarchy != null
+                    ? findWithHierarchy(graph, currentHierarchy, vertexStart, vertexEnd, maxDistance, monitor)
+                    : findBidirectional(graph, vertexStart, vertexEnd, maxDistance, monitor);
         }
 
-        // Bentuk path
-        List<String> path = new ArrayList<>();
+        // Landmark sedang dibentuk ulang: jawab dengan Dijkstra dua arah agar query tidak menunggu
+        Landmarks currentLandmarks = algorithm == Algorithm.ALT ? landmarks(graph) : null;
+        if (algorithm == Algorithm.ALT && currentLandmarks == null)
+            return findBidirectional(graph, vertexStart, vertexEnd, maxDistance, monitor);
+
+        SearchContextPool pool = contextPool(graph);
+        SearchContext context = pool.acquire();
+        context.setMonitor(monitor);
+        try {
+            // Jalankan pencarian sampai tujuan settled
+            if (algorithm == Algorithm.A_STAR)
+                AStar.calculateShortestPath(graph, context, heuristic, vertexStart, vertexEnd, maxDistance);
+            else if (algorithm == Algorithm.ALT)
+                AStar.calculateShortestPath(graph, context, currentLandmarks, vertexStart, vertexEnd, maxDistance);
+            else
+                Dijkstra.calculateShortestPath(graph, context, vertexStart, vertexEnd, maxDistance);
+
+            // Jika tidak ada jalur dalam batas jarak
+            long distance = context.getDistance(vertexEnd);
+            if (distance == Long.MAX_VALUE)
+                return null;
+
+            return toResult(graph, context.pathTo(vertexEnd), distance);
+        } finally {
+            metrics.recordSearch(context);
+            context.setMonitor(null);
+            pool.release(context);
+        }
+    }
+
+    private DijkstraResult findBidirectional(
+            CsrGraph graph, int vertexStart, int vertexEnd, long maxDistance, SearchMonitor monitor) {
+        SearchContextPool pool = contextPool(graph);
+        SearchContext forward = pool.acquire();
+        SearchContext backward = pool.acquire();
+        forward.setMonitor(monitor);
+        backward.setMonitor(monitor);
+        try {
+            int meeting = BidirectionalDijkstra.calculateShortestPath(
+                    graph, forward, backward, vertexStart, vertexEnd, maxDistance);
+            if (meeting < 0)
+                return null;
+
+            return toResult(graph,
+                    BidirectionalDijkstra.path(forward, backward, meeting),
+                    BidirectionalDijkstra.distance(forward, backward, meeting));
+        } finally {
+            metrics.recordSearch(forward);
+            metrics.recordSearch(backward);
+            forward.setMonitor(null);
+            backward.setMonitor(null);
+            pool.release(forward);
+            pool.release(backward);
+        }
+    }
+
+    private DijkstraResult findWithHierarchy(CsrGraph graph, ContractionHierarchy current,
+            int vertexStart, int vertexEnd, long maxDistance, SearchMonitor monitor) {
+        SearchContextPool pool = contextPool(graph);
+        SearchContext forward = pool.acquire();
+        SearchContext backward = pool.acquire();
+        forward.setMonitor(monitor);
+        backward.setMonitor(monitor);
+        try {
+            int meeting = current.calculateShortestPath(forward, backward, vertexStart, vertexEnd);
+            if (meeting < 0)
+                return null;
+
+            long distance = current.distance(forward, backward, meeting);
+            if (distance > maxDistance)
+                return null;
+
+            return toResult(graph, current.unpackPath(forward, backward, meeting), distance);
+        } finally {
+            metrics.recordSearch(forward);
+            metrics.recordSearch(backward);
+            forward.setMonitor(null);
+            backward.setMonitor(null);
+            pool.release(forward);
+            pool.release(backward);
+        }
+    }
+
+    /**
+     * Mengembalikan pool context yang cukup besar untuk snapshot tertentu.
+     * Pool lama tetap dipakai selama kapasitasnya mencukupi.
+     *
+     * @param graph snapshot yang akan dicari
+     * @return pool context
+     */
+    private SearchContextPool contextPool(CsrGraph graph) {
+        SearchContextPool pool = contextPool;
+        if (pool.getCapacity() < graph.getVertexCount()) {
+            pool = new SearchContextPool(graph.getVertexCount());
+            contextPool = pool;
+        }
+        return pool;
+    }
 
-        // Masukkan node hasil shortestPath
-        for (Vertex vertex : vertexEnd.getShortestPath()) {
-            path.add(vertex.getName());
+    /**
+     * Mengubah rute berupa id vertex menjadi DTO berisi nama vertex.
+     *
+     * @param graph    snapshot asal id vertex
+     * @param path     urutan id vertex
+     * @param distance total jarak rute
+     * @return hasil dalam bentuk DTO
+     */
+    private DijkstraResult toResult(CsrGraph graph, int[] path, long distance) {
+        List<String> names = new ArrayList<>(path.length);
+        for (int vertex : path) {
+            names.add(graph.nameOf(vertex));
         }
-//        Mengembalikan hasil dalam bentuk DTO
-        path.add(vertexEnd.getName());
-        return new DijkstraResult(path, vertexEnd.getDistance());
+        // Hasil dapat dibagi antar pemanggil melalui cache, jadi path dibuat read-only
+        return new DijkstraResult(Collections.unmodifiableList(names), distance);
     }
 }
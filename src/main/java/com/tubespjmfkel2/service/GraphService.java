@@ -1,7 +1,12 @@
 package com.tubespjmfkel2.service;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.tubespjmfkel2.domain.CsrGraph;
 import com.tubespjmfkel2.domain.Graph;
 import com.tubespjmfkel2.domain.Vertex;
+import com.tubespjmfkel2.dto.ImportResult;
 
 public class GraphService {
 
@@ -12,11 +17,38 @@ public class GraphService {
     }
 
     public String addVertex(String vertexName) {
+        return addVertex(vertexName, Double.NaN, Double.NaN, null);
+    }
+
+    /**
+     * Menambahkan vertex beserta koordinatnya (dipakai oleh heuristik A*).
+     *
+     * @param vertexName nama vertex
+     * @param x          koordinat x (atau bujur untuk heuristik haversine)
+     * @param y          koordinat y (atau lintang untuk heuristik haversine)
+     * @return pesan kesalahan, atau null jika berhasil
+     */
+    public String addVertex(String vertexName, double x, double y) {
+        return addVertex(vertexName, x, y, null);
+    }
+
+    /**
+     * Menambahkan vertex beserta koordinat dan kategorinya.
+     *
+     * @param vertexName nama vertex
+     * @param x          koordinat x, atau NaN jika tidak diketahui
+     * @param y          koordinat y, atau NaN jika tidak diketahui
+     * @param category   kategori vertex (misalnya "Bengkel"), atau null
+     * @return pesan kesalahan, atau null jika berhasil
+     */
+    public String addVertex(String vertexName, double x, double y, String category) {
         if (vertexName == null || vertexName.isBlank()) return "Nama tidak boleh kosong!";
         if (findVertex(vertexName) != null) return "Vertex sudah ada!";
 
         Vertex vertex = new Vertex();
         vertex.setName(vertexName);
+        vertex.setCoordinates(x, y);
+        vertex.setCategory(category == null || category.isBlank() ? null : category);
         graph.addVertex(vertex);
 
         return null;
@@ -35,11 +67,79 @@ public class GraphService {
         return null;
     }
 
+    /**
+     * Mengubah bobot edge antara dua vertex, misalnya karena kondisi lalu lintas.
+     *
+     * @param source      nama vertex asal
+     * @param destination nama vertex tujuan
+     * @param weight      bobot baru
+     * @return pesan kesalahan, atau null jika berhasil
+     */
+    public String updateEdgeWeight(String source, String destination, int weight) {
+        Vertex vertexSource = findVertex(source);
+        Vertex vertexDestination = findVertex(destination);
+
+        if (vertexSource == null) return "Vertex asal tidak ditemukan!";
+        if (vertexDestination == null) return "Vertex tujuan tidak ditemukan!";
+        if (weight <= 0) return "Bobot harus > 0!";
+
+        if (!graph.updateEdgeWeight(vertexSource, vertexDestination, weight)) return "Edge tidak ditemukan!";
+        return null;
+    }
+
+    /**
+     * Menghapus edge antara dua vertex.
+     *
+     * @param source      nama vertex asal
+     * @param destination nama vertex tujuan
+     * @return pesan kesalahan, atau null jika berhasil
+     */
+    public String removeEdge(String source, String destination) {
+        Vertex vertexSource = findVertex(source);
+        Vertex vertexDestination = findVertex(destination);
+
+        if (vertexSource == null) return "Vertex asal tidak ditemukan!";
+        if (vertexDestination == null) return "Vertex tujuan tidak ditemukan!";
+
+        if (!graph.removeEdge(vertexSource, vertexDestination)) return "Edge tidak ditemukan!";
+        return null;
+    }
+
+    /**
+     * Memuat vertex dan edge dari file CSV ke dalam graf tanpa menyentuh UI.
+     *
+     * @param path lokasi file CSV (TYPE,SOURCE,DESTINATION,WEIGHT)
+     * @return statistik import
+     * @throws IOException jika file tidak dapat dibaca
+     * @see CsvGraphReader
+     */
+    public ImportResult importCsv(Path path) throws IOException {
+        ImportResult result = CsvGraphReader.load(path, this);
+        RoutingMetrics.get().recordImport(result);
+        return result;
+    }
+
+    /**
+     * Memuat graf dari file biner (lihat {@link BinaryGraphFile}). Isi graf
+     * sebelumnya diganti seluruhnya.
+     *
+     * @param path lokasi file biner
+     * @return statistik import
+     * @throws IOException jika file tidak dapat dibaca
+     */
+    public ImportResult importBinary(Path path) throws IOException {
+        long startTime = System.nanoTime();
+        CsrGraph loaded = BinaryGraphFile.read(path);
+        graph.load(loaded);
+
+        long elapsedMillis = (System.nanoTime() - startTime) / 1_000_000;
+        ImportResult result = new ImportResult(loaded.getVertexCount(), loaded.getArcCount() / 2, 0, elapsedMillis);
+        RoutingMetrics.get().recordImport(result);
+        return result;
+    }
+
     public Vertex findVertex(String name) {
-        return graph.getVertices().stream()
-                .filter(v -> v.getName().equals(name))
-                .findFirst()
-                .orElse(null);
+        return name == null ? null : graph.getVertex(name);
     }
 
     public void reset() {
@@ -0,0 +1,166 @@
+package com.tubespjmfkel2.service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.tubespjmfkel2.dto.DijkstraResult;
+
+/**
+ * Cache hasil rute berdasarkan pasangan (awal, tujuan) dengan batas ukuran
+ * dan eviction LRU.
+ * <p>
+ * Cache dibagi menjadi beberapa segmen, masing-masing sebuah
+ * {@link LinkedHashMap} berurutan akses yang dikunci sendiri, sehingga
+ * thread yang mengakses pasangan berbeda jarang saling menunggu. Setiap
+ * entri terikat pada versi graf; begitu versi graf berubah, seluruh isi
+ * cache dibuang pada akses berikutnya.
+ */
+public class RouteCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    /**
+     * Penanda hasil "tidak ada rute" di dalam cache, karena null berarti pasangan belum tersimpan
+     */
+    public static final DijkstraResult NO_ROUTE = new DijkstraResult(List.of(), -1);
+
+    private record RouteKey(String start, String end) {
+    }
+
+    private final Segment[] segments = new Segment[SEGMENT_COUNT];
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private volatile long version;
+
+    /**
+     * @param capacity jumlah rute maksimum yang disimpan
+     */
+    public RouteCache(int capacity) {
+        int segmentCapacity = Math.max(1, capacity / SEGMENT_COUNT);
+        for (int i = 0; i < SEGMENT_COUNT; i++) {
+            segments[i] = new Segment(segmentCapacity);
+        }
+    }
+
+    /**
+     * Mengambil rute dari cache.
+     *
+     * @param start        nama titik awal
+     * @param end          nama titik tujuan
+     * @param graphVersion versi graf saat ini
+     * @return hasil rute, {@link #NO_ROUTE} jika tersimpan bahwa tidak ada rute, atau null jika tidak ada di cache
+     */
+    public DijkstraResult get(String start, String end, long graphVersion) {
+        if (!validate(graphVersion)) {
+            misses.increment();
+            return null;
+        }
+
+        RouteKey key = new RouteKey(start, end);
+        DijkstraResult result;
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            result = segment.get(key);
+        }
+
+        if (result == null)
+            misses.increment();
+        else
+            hits.increment();
+        return result;
+    }
+
+    /**
+     * Menyimpan hasil rute (termasuk hasil null "tidak ada rute").
+     *
+     * @param start        nama titik awal
+     * @param end          nama titik tujuan
+     * @param graphVersion versi graf yang dipakai saat rute dihitung
+     * @param result       hasil rute, atau null jika tidak ada rute
+     */
+    public void put(String start, String end, long graphVersion, DijkstraResult result) {
+        if (graphVersion != version)
+            return;
+
+        RouteKey key = new RouteKey(start, end);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, result == null ? NO_ROUTE : result);
+        }
+    }
+
+    /**
+     * Membuang seluruh isi cache jika graf sudah berganti ke versi yang lebih
+     * baru. Pembaca yang masih memegang versi lama tidak mengosongkan cache
+     * milik versi yang lebih baru.
+     *
+     * @return true jika isi cache berlaku untuk {@code graphVersion}
+     */
+    private boolean validate(long graphVersion) {
+        if (graphVersion == version)
+            return true;
+
+        synchronized (this) {
+            if (graphVersion <= version)
+                return graphVersion == version;
+            for (Segment segment : segments) {
+                synchronized (segment) {
+                    segment.clear();
+                }
+            }
+            version = graphVersion;
+            return true;
+        }
+    }
+
+    private Segment segmentFor(RouteKey key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return jumlah rute yang tersimpan saat ini
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Satu segmen LRU: LinkedHashMap berurutan akses yang membuang entri tertua saat penuh.
+     */
+    private static class Segment extends LinkedHashMap<RouteKey, DijkstraResult> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<RouteKey, DijkstraResult> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.tubespjmfkel2.service;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.tubespjmfkel2.algorithm.SearchContext;
+import com.tubespjmfkel2.dto.ImportResult;
+
+/**
+ * Metrik biaya query rute: latensi, jumlah vertex settled, arc yang
+ * diperiksa, push ke antrian prioritas, cache hit, dan laju import graf.
+ * <p>
+ * Engine menghitung biaya setiap query pada field biasa di
+ * {@link SearchContext}, dan angka tersebut baru dijumlahkan ke counter
+ * global ({@link LongAdder}) setelah query selesai. Saat metrik dimatikan,
+ * biaya yang tersisa hanyalah satu pembacaan field volatile per query, sehingga
+ * metrik dapat tetap aktif di produksi.
+ * <p>
+ * Metrik dapat dibaca melalui JMX ({@link #registerMBean()}), dicatat
+ * berkala ke log ({@link #startLogging(long)}), atau diambil sebagai
+ * {@link #snapshot()}. Aktif sejak start jika system property
+ * {@code tubespjmfkel2.metrics} bernilai true.
+ */
+public class RoutingMetrics implements RoutingMetricsMBean {
+
+    private static final RoutingMetrics INSTANCE = new RoutingMetrics();
+
+    private static final String OBJECT_NAME = "com.tubespjmfkel2:type=RoutingMetrics";
+
+    /**
+     * Nilai {@link #startTimer()} saat metrik dimatikan
+     */
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final Logger LOGGER = Logger.getLogger(RoutingMetrics.class.getName());
+
+    private volatile boolean enabled = Boolean.getBoolean("tubespjmfkel2.metrics");
+
+    /**
+     * Query point-to-point ({@link DijkstraService#findShortestPath})
+     */
+    private final LatencyHistogram routeLatency = new LatencyHistogram();
+
+    /**
+     * Query lain: titik terdekat, tabel jarak, pohon rute, dan partisi
+     */
+    private final LatencyHistogram otherLatency = new LatencyHistogram();
+
+    private final LongAdder settledVertices = new LongAdder();
+
+    private final LongAdder relaxedEdges = new LongAdder();
+
+    private final LongAdder heapPushes = new LongAdder();
+
+    private final LongAdder routeCacheHits = new LongAdder();
+
+    private final LongAdder treeCacheHits = new LongAdder();
+
+    private final LongAdder importCount = new LongAdder();
+
+    private final LongAdder importedEdges = new LongAdder();
+
+    private final LongAdder importMillis = new LongAdder();
+
+    private ScheduledExecutorService logger;
+
+    private RoutingMetrics() {
+    }
+
+    /**
+     * @return metrik bersama milik seluruh service di JVM ini
+     */
+    public static RoutingMetrics get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return waktu mulai untuk {@code record...Query}, atau penanda tanpa pengukuran jika metrik mati
+     */
+    long startTimer() {
+        return enabled ? System.nanoTime() : NOT_TIMED;
+    }
+
+    void recordRouteQuery(long start) {
+        if (start != NOT_TIMED)
+            routeLatency.record(System.nanoTime() - start);
+    }
+
+    void recordOtherQuery(long start) {
+        if (start != NOT_TIMED)
+            otherLatency.record(System.nanoTime() - start);
+    }
+
+    /**
+     * Menjumlahkan biaya query terakhir pada context ke counter global.
+     * Dipanggil sebelum context dikembalikan ke pool.
+     */
+    void recordSearch(SearchContext context) {
+        if (!enabled)
+            return;
+        settledVertices.add(context.getSettledCount());
+        relaxedEdges.add(context.getRelaxedCount());
+        heapPushes.add(context.getPushCount());
+    }
+
+    void recordRouteCacheHit() {
+        if (enabled)
+            routeCacheHits.increment();
+    }
+
+    void recordTreeCacheHit() {
+        if (enabled)
+            treeCacheHits.increment();
+    }
+
+    void recordImport(ImportResult result) {
+        if (!enabled)
+            return;
+        importCount.increment();
+        importedEdges.add(result.getEdgeCount());
+        importMillis.add(result.getElapsedMillis());
+    }
+
+    @Override
+    public long getRouteQueryCount() {
+        return routeLatency.getCount();
+    }
+
+    @Override
+    public long getRouteLatencyP50Micros() {
+        return routeLatency.percentile(0.50) / 1_000;
+    }
+
+    @Override
+    public long getRouteLatencyP90Micros() {
+        return routeLatency.percentile(0.90) / 1_000;
+    }
+
+    @Override
+    public long getRouteLatencyP99Micros() {
+        return routeLatency.percentile(0.99) / 1_000;
+    }
+
+    @Override
+    public long getRouteLatencyMaxMicros() {
+        return routeLatency.getMax() / 1_000;
+    }
+
+    @Override
+    public long getOtherQueryCount() {
+        return otherLatency.getCount();
+    }
+
+    @Override
+    public long getOtherQueryLatencyP99Micros() {
+        return otherLatency.percentile(0.99) / 1_000;
+    }
+
+    @Override
+    public long getSettledVertices() {
+        return settledVertices.sum();
+    }
+
+    @Override
+    public long getRelaxedEdges() {
+        return relaxedEdges.sum();
+    }
+
+    @Override
+    public long getHeapPushes() {
+        return heapPushes.sum();
+    }
+
+    @Override
+    public long getRouteCacheHits() {
+        return routeCacheHits.sum();
+    }
+
+    @Override
+    public long getTreeCacheHits() {
+        return treeCacheHits.sum();
+    }
+
+    @Override
+    public long getImportCount() {
+        return importCount.sum();
+    }
+
+    @Override
+    public long getImportedEdges() {
+        return importedEdges.sum();
+    }
+
+    @Override
+    public long getImportEdgesPerSecond() {
+        long millis = importMillis.sum();
+        return millis == 0 ? 0 : importedEdges.sum() * 1_000 / millis;
+    }
+
+    @Override
+    public void reset() {
+        routeLatency.reset();
+        otherLatency.reset();
+        settledVertices.reset();
+        relaxedEdges.reset();
+        heapPushes.reset();
+        routeCacheHits.reset();
+        treeCacheHits.reset();
+        importCount.reset();
+        importedEdges.reset();
+        importMillis.reset();
+    }
+
+    /**
+     * @return seluruh metrik saat ini, dengan urutan tetap
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new LinkedHashMap<>();
+        snapshot.put("enabled", isEnabled());
+        snapshot.put("routeQueries", getRouteQueryCount());
+        snapshot.put("routeLatencyP50Micros", getRouteLatencyP50Micros());
+        snapshot.put("routeLatencyP90Micros", getRouteLatencyP90Micros());
+        snapshot.put("routeLatencyP99Micros", getRouteLatencyP99Micros());
+        snapshot.put("routeLatencyMaxMicros", getRouteLatencyMaxMicros());
+        snapshot.put("otherQueries", getOtherQueryCount());
+        snapshot.put("otherQueryLatencyP99Micros", getOtherQueryLatencyP99Micros());
+        snapshot.put("settledVertices", getSettledVertices());
+        snapshot.put("relaxedEdges", getRelaxedEdges());
+        snapshot.put("heapPushes", getHeapPushes());
+        snapshot.put("routeCacheHits", getRouteCacheHits());
+        snapshot.put("treeCacheHits", getTreeCacheHits());
+        snapshot.put("imports", getImportCount());
+        snapshot.put("importedEdges", getImportedEdges());
+        snapshot.put("importEdgesPerSecond", getImportEdgesPerSecond());
+        return snapshot;
+    }
+
+    /**
+     * Mendaftarkan metrik ke platform MBean server dengan nama
+     * {@code com.tubespjmfkel2:type=RoutingMetrics}. Aman dipanggil berulang kali.
+     */
+    public void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException alreadyRegistered) {
+            // Sudah terdaftar
+        } catch (JMException error) {
+            throw new IllegalStateException("Gagal mendaftarkan MBean metrik", error);
+        }
+    }
+
+    /**
+     * Mencatat {@link #snapshot()} ke {@link java.util.logging} secara berkala
+     * di thread daemon. Pemanggilan berikutnya mengganti jadwal sebelumnya.
+     *
+     * @param periodSeconds jarak antar pencatatan dalam detik
+     */
+    public synchronized void startLogging(long periodSeconds) {
+        stopLogging();
+        logger = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "routing-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        logger.scheduleAtFixedRate(() -> LOGGER.info("Metrik rute: " + snapshot()),
+                periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    public synchronized void stopLogging() {
+        if (logger != null) {
+            logger.shutdownNow();
+            logger = null;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tubespjmfkel2.service;
+
+/**
+ * Antarmuka JMX untuk {@link RoutingMetrics}. Durasi dalam mikrodetik.
+ */
+public interface RoutingMetricsMBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    long getRouteQueryCount();
+
+    long getRouteLatencyP50Micros();
+
+    long getRouteLatencyP90Micros();
+
+    long getRouteLatencyP99Micros();
+
+    long getRouteLatencyMaxMicros();
+
+    long getOtherQueryCount();
+
+    long getOtherQueryLatencyP99Micros();
+
+    long getSettledVertices();
+
+    long getRelaxedEdges();
+
+    long getHeapPushes();
+
+    long getRouteCacheHits();
+
+    long getTreeCacheHits();
+
+    long getImportCount();
+
+    long getImportedEdges();
+
+    long getImportEdgesPerSecond();
+
+    void reset();
+}
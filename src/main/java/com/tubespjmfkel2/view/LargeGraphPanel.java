@@ -0,0 +1,807 @@
+package com.tubespjmfkel2.view;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Path2D;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.SwingWorker;
+
+import com.tubespjmfkel2.domain.CsrGraph;
+
+/**
+ * Tampilan graf besar (ribuan sampai jutaan titik) yang digambar langsung
+ * dari snapshot {@link CsrGraph}, tanpa satu cell mxGraph per vertex/edge.
+ * <ul>
+ * <li>Posisi titik dihitung sekali di thread latar belakang: koordinat titik
+ * dipakai jika ada, selain itu layout berlapis (BFS) dari kiri ke kanan
+ * seperti layout hierarkis pada tampilan biasa. Titik yang ditambahkan
+ * kemudian ditempatkan satu per satu tanpa menghitung ulang layout.</li>
+ * <li>Hanya titik di dalam viewport yang digambar, dicari melalui indeks grid.</li>
+ * <li>Saat diperkecil, titik yang berdekatan digabung menjadi satu cluster
+ * per sel layar.</li>
+ * <li>Rute terpendek digambar sebagai overlay di atas graf, sehingga
+ * menampilkan rute tidak mengubah gaya edge mana pun.</li>
+ * </ul>
+ * Geser dengan drag, zoom dengan scroll, dan klik dua kali untuk menampilkan seluruh graf.
+ */
+public class LargeGraphPanel extends JPanel {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Jarak antar lapisan dan antar titik dalam satu lapisan pada layout berlapis
+     */
+    private static final double LAYER_SPACING = 160;
+
+    private static final double ROW_SPACING = 60;
+
+    /**
+     * Jumlah titik terlihat maksimum sebelum tampilan beralih ke cluster
+     */
+    private static final int MAX_DETAILED_VERTICES = 4000;
+
+    /**
+     * Jumlah titik terlihat maksimum agar nama titik ikut digambar
+     */
+    private static final int MAX_LABELED_VERTICES = 200;
+
+    /**
+     * Ukuran sel cluster dalam piksel layar
+     */
+    private static final int CLUSTER_CELL_SIZE = 14;
+
+    /**
+     * Jumlah titik baru maksimum yang ditempatkan langsung pada layout yang
+     * ada; di atas angka ini layout dihitung ulang di thread latar belakang
+     */
+    private static final int MAX_INCREMENTAL_VERTICES = 1024;
+
+    /**
+     * Sengaja tanpa transparansi: blending alpha membuat puluhan ribu garis
+     * berkali-kali lebih lambat digambar
+     */
+    private static final Color EDGE_COLOR = new Color(200, 200, 200);
+
+    private static final Color VERTEX_COLOR = Color.WHITE;
+
+    private static final Color LABEL_COLOR = Color.BLACK;
+
+    private static final Color ROUTE_COLOR = new Color(0, 200, 0);
+
+    private CsrGraph graph;
+
+    private Layout layout;
+
+    /**
+     * Nama titik rute yang diminta. Disimpan agar rute yang diminta sebelum
+     * layout selesai, atau sebelum graf diganti, tetap digambar.
+     */
+    private List<String> routeNames = List.of();
+
+    /**
+     * {@link #routeNames} sebagai id titik pada {@link #graph}
+     */
+    private int[] route = new int[0];
+
+    /**
+     * Penanda titik terlihat yang dipakai ulang setiap repaint; hanya entri
+     * titik terlihat yang diisi dan dikosongkan kembali
+     */
+    private boolean[] visibleMarks = new boolean[0];
+
+    private SwingWorker<Layout, Void> layoutWorker;
+
+    /**
+     * Transformasi dunia ke layar: {@code layar = dunia * scale + offset}
+     */
+    private double scale = 1;
+
+    private double offsetX;
+
+    private double offsetY;
+
+    /**
+     * true jika posisi sudah disesuaikan dengan ukuran panel setelah layout selesai
+     */
+    private boolean fitted;
+
+    public LargeGraphPanel() {
+        setOpaque(false);
+
+        MouseAdapter navigation = new MouseAdapter() {
+            private int lastX;
+
+            private int lastY;
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                lastX = e.getX();
+                lastY = e.getY();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                offsetX += e.getX() - lastX;
+                offsetY += e.getY() - lastY;
+                lastX = e.getX();
+                lastY = e.getY();
+                repaint();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                double factor = Math.pow(1.2, -e.getPreciseWheelRotation());
+                // Zoom berpusat pada posisi kursor
+                offsetX = e.getX() - (e.getX() - offsetX) * factor;
+                offsetY = e.getY() - (e.getY() - offsetY) * factor;
+                scale *= factor;
+                repaint();
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2)
+                    fitToView();
+            }
+        };
+        addMouseListener(navigation);
+        addMouseMotionListener(navigation);
+        addMouseWheelListener(navigation);
+    }
+
+    /**
+     * Mengganti graf yang ditampilkan. Jika graf baru hanya menambah sedikit
+     * titik atau mengubah jarak, layout yang ada dipakai dan titik baru
+     * ditempatkan langsung. Selain itu layout dihitung di thread latar
+     * belakang; sampai selesai, layout sebelumnya (jika ada) tetap digambar.
+     *
+     * @param snapshot snapshot graf yang akan ditampilkan
+     */
+    public void setGraph(CsrGraph snapshot) {
+        if (layoutWorker != null) {
+            layoutWorker.cancel(true);
+            layoutWorker = null;
+        }
+
+        Layout extended = layout == null ? null : Layout.extend(layout, graph, snapshot);
+        if (extended != null) {
+            graph = snapshot;
+            layout = extended;
+            resolveRoute();
+            repaint();
+            return;
+        }
+
+        Layout previous = layout;
+        SwingWorker<Layout, Void> worker = new SwingWorker<>() {
+            @Override
+            protected Layout doInBackground() {
+                return Layout.compute(snapshot, previous);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || layoutWorker != this)
+                    return;
+                layoutWorker = null;
+
+                Layout computed;
+                try {
+                    computed = get();
+                } catch (InterruptedException | ExecutionException error) {
+                    // Layout sebelumnya (jika ada) tetap ditampilkan
+                    Throwable cause = error instanceof ExecutionException ? error.getCause() : error;
+                    JOptionPane.showMessageDialog(LargeGraphPanel.this,
+                            "Gagal menghitung layout graf: " + cause.getMessage(),
+                            "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+
+                graph = snapshot;
+                layout = computed;
+                resolveRoute();
+                if (previous == null)
+                    fitted = false;
+                repaint();
+            }
+        };
+        layoutWorker = worker;
+        worker.execute();
+        repaint();
+    }
+
+    /**
+     * Menampilkan rute sebagai overlay. Rute yang diminta sebelum layout
+     * selesai digambar begitu layout siap.
+     *
+     * @param path urutan nama titik pada rute, atau list kosong untuk menghapus rute
+     */
+    public void setRoute(List<String> path) {
+        routeNames = List.copyOf(path);
+        resolveRoute();
+        repaint();
+    }
+
+    private void resolveRoute() {
+        if (graph == null) {
+            route = new int[0];
+            return;
+        }
+
+        int[] ids = new int[routeNames.size()];
+        int count = 0;
+        for (String name : routeNames) {
+            int id = graph.idOf(name);
+            if (id >= 0)
+                ids[count++] = id;
+        }
+        route = Arrays.copyOf(ids, count);
+    }
+
+    /**
+     * Mengatur zoom dan posisi agar seluruh graf terlihat.
+     */
+    public void fitToView() {
+        if (layout == null || getWidth() == 0 || getHeight() == 0)
+            return;
+
+        double width = Math.max(layout.maxX - layout.minX, 1);
+        double height = Math.max(layout.maxY - layout.minY, 1);
+        scale = 0.9 * Math.min(getWidth() / width, getHeight() / height);
+        offsetX = (getWidth() - width * scale) / 2 - layout.minX * scale;
+        offsetY = (getHeight() - height * scale) / 2 - layout.minY * scale;
+        fitted = true;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            if (layout == null) {
+                g2.setColor(VERTEX_COLOR);
+                g2.drawString("Menyiapkan tampilan graf...", 20, 20);
+                return;
+            }
+            if (!fitted)
+                fitToView();
+
+            // Viewport dalam koordinat dunia
+            double minX = -offsetX / scale;
+            double minY = -offsetY / scale;
+            double maxX = (getWidth() - offsetX) / scale;
+            double maxY = (getHeight() - offsetY) / scale;
+
+            int[] visible = layout.index.query(layout, minX, minY, maxX, maxY);
+            if (visible.length > MAX_DETAILED_VERTICES) {
+                paintClusters(g2, visible);
+            } else {
+                g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+                paintDetailed(g2, visible);
+            }
+
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            paintRoute(g2);
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    private void paintDetailed(Graphics2D g2, int[] visible) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        if (visibleMarks.length < graph.getVertexCount())
+            visibleMarks = new boolean[graph.getVertexCount()];
+        boolean[] isVisible = visibleMarks;
+        for (int vertex : visible) {
+            isVisible[vertex] = true;
+        }
+
+        // Edge ke titik di luar viewport tetap digambar; edge antar titik terlihat cukup sekali
+        Path2D.Float edges = new Path2D.Float();
+        for (int vertex : visible) {
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                int target = targets[arc];
+                if (isVisible[target] && target < vertex)
+                    continue;
+                edges.moveTo(screenX(vertex), screenY(vertex));
+                edges.lineTo(screenX(target), screenY(target));
+            }
+        }
+        for (int vertex : visible) {
+            isVisible[vertex] = false;
+        }
+        g2.setColor(EDGE_COLOR);
+        g2.setStroke(new BasicStroke(1.5f));
+        g2.draw(edges);
+
+        int radius = (int) Math.max(3, Math.min(20, 20 * scale));
+        boolean labeled = visible.length <= MAX_LABELED_VERTICES;
+        for (int vertex : visible) {
+            int x = (int) screenX(vertex);
+            int y = (int) screenY(vertex);
+            g2.setColor(VERTEX_COLOR);
+            g2.fillOval(x - radius, y - radius, radius * 2, radius * 2);
+            if (labeled) {
+                g2.setColor(LABEL_COLOR);
+                g2.drawString(graph.nameOf(vertex), x + radius + 2, y + 4);
+            }
+        }
+    }
+
+    /**
+     * Menggabungkan titik terlihat per sel layar. Edge digambar hanya dari
+     * satu titik perwakilan setiap sel sebagai kerangka graf.
+     */
+    private void paintClusters(Graphics2D g2, int[] visible) {
+        int columns = getWidth() / CLUSTER_CELL_SIZE + 1;
+        int rows = getHeight() / CLUSTER_CELL_SIZE + 1;
+        int[] counts = new int[columns * rows];
+        int[] representatives = new int[columns * rows];
+
+        for (int vertex : visible) {
+            int cell = cellOf(vertex, columns, rows);
+            if (cell < 0)
+                continue;
+            if (counts[cell]++ == 0)
+                representatives[cell] = vertex;
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        Path2D.Float edges = new Path2D.Float();
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] == 0)
+                continue;
+            int vertex = representatives[cell];
+            for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                edges.moveTo(screenX(vertex), screenY(vertex));
+                edges.lineTo(screenX(targets[arc]), screenY(targets[arc]));
+            }
+        }
+        g2.setColor(EDGE_COLOR);
+        g2.setStroke(new BasicStroke(1f));
+        g2.draw(edges);
+
+        g2.setColor(VERTEX_COLOR);
+        for (int cell = 0; cell < counts.length; cell++) {
+            if (counts[cell] == 0)
+                continue;
+            // Ukuran cluster tumbuh logaritmik terhadap jumlah titik di dalamnya
+            int radius = (int) Math.min(CLUSTER_CELL_SIZE / 2.0, 1 + Math.log(counts[cell]));
+            int x = (cell % columns) * CLUSTER_CELL_SIZE + CLUSTER_CELL_SIZE / 2;
+            int y = (cell / columns) * CLUSTER_CELL_SIZE + CLUSTER_CELL_SIZE / 2;
+            g2.fillOval(x - radius, y - radius, radius * 2, radius * 2);
+        }
+    }
+
+    private void paintRoute(Graphics2D g2) {
+        if (route.length == 0)
+            return;
+
+        Path2D.Float line = new Path2D.Float();
+        line.moveTo(screenX(route[0]), screenY(route[0]));
+        for (int i = 1; i < route.length; i++) {
+            line.lineTo(screenX(route[i]), screenY(route[i]));
+        }
+        g2.setColor(ROUTE_COLOR);
+        g2.setStroke(new BasicStroke(5f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+        g2.draw(line);
+
+        for (int vertex : new int[] { route[0], route[route.length - 1] }) {
+            int x = (int) screenX(vertex);
+            int y = (int) screenY(vertex);
+            g2.fillOval(x - 8, y - 8, 16, 16);
+            g2.setColor(LABEL_COLOR);
+            g2.drawString(graph.nameOf(vertex), x + 10, y + 4);
+            g2.setColor(ROUTE_COLOR);
+        }
+    }
+
+    private int cellOf(int vertex, int columns, int rows) {
+        int column = (int) (screenX(vertex) / CLUSTER_CELL_SIZE);
+        int row = (int) (screenY(vertex) / CLUSTER_CELL_SIZE);
+        if (column < 0 || row < 0 || column >= columns || row >= rows)
+            return -1;
+        return row * columns + column;
+    }
+
+    private float screenX(int vertex) {
+        return (float) (layout.xs[vertex] * scale + offsetX);
+    }
+
+    private float screenY(int vertex) {
+        return (float) (layout.ys[vertex] * scale + offsetY);
+    }
+
+    /**
+     * Posisi setiap titik dalam koordinat dunia beserta indeks grid-nya.
+     * Dibentuk di thread latar belakang dan tidak diubah setelahnya;
+     * penambahan titik menghasilkan layout baru melalui {@link #extend}.
+     */
+    private static final class Layout {
+
+        private final float[] xs;
+
+        private final float[] ys;
+
+        /**
+         * true jika posisi diambil dari koordinat titik
+         */
+        private boolean byCoordinates;
+
+        /**
+         * Jarak antar titik yang ditempatkan langsung oleh {@link #extend}
+         */
+        private double spacing;
+
+        /**
+         * Posisi berikutnya untuk titik baru tanpa tetangga: satu kolom di
+         * kanan graf
+         */
+        private double spareX;
+
+        private double spareY;
+
+        private double minX = Double.MAX_VALUE;
+
+        private double minY = Double.MAX_VALUE;
+
+        private double maxX = -Double.MAX_VALUE;
+
+        private double maxY = -Double.MAX_VALUE;
+
+        private GridIndex index;
+
+        private Layout(int vertexCount) {
+            this(new float[vertexCount], new float[vertexCount]);
+        }
+
+        private Layout(float[] xs, float[] ys) {
+            this.xs = xs;
+            this.ys = ys;
+        }
+
+        /**
+         * @param graph    snapshot graf
+         * @param previous layout sebelumnya; posisi titik yang sudah ada dipertahankan
+         */
+        static Layout compute(CsrGraph graph, Layout previous) {
+            Layout layout = new Layout(graph.getVertexCount());
+            layout.byCoordinates = graph.hasCoordinates();
+            if (layout.byCoordinates)
+                layout.placeByCoordinates(graph);
+            else
+                layout.placeByLayers(graph, previous);
+
+            for (int vertex = 0; vertex < layout.xs.length; vertex++) {
+                layout.include(vertex);
+            }
+
+            // Koordinat tidak memakai satuan layout berlapis: jarak diambil dari kerapatan rata-rata
+            double extent = Math.max(layout.maxX - layout.minX, layout.maxY - layout.minY);
+            layout.spacing = layout.byCoordinates
+                    ? (extent > 0 ? extent / Math.sqrt(layout.xs.length) : 1)
+                    : ROW_SPACING;
+            layout.spareX = layout.maxX + layout.spacing * 2;
+            layout.spareY = layout.minY;
+            layout.index = new GridIndex(layout);
+            return layout;
+        }
+
+        /**
+         * Menempatkan titik baru pada layout yang ada tanpa memindahkan
+         * titik lama. Titik baru memakai koordinatnya jika layout berbasis
+         * koordinat, selain itu diletakkan di samping tetangganya yang sudah
+         * punya posisi, atau pada kolom cadangan di kanan graf.
+         *
+         * @return layout untuk {@code graph}, atau null jika layout harus dihitung ulang
+         */
+        static Layout extend(Layout previous, CsrGraph previousGraph, CsrGraph graph) {
+            int kept = previous.xs.length;
+            int vertexCount = graph.getVertexCount();
+            if (kept == 0 || vertexCount < kept || vertexCount - kept > MAX_INCREMENTAL_VERTICES)
+                return null;
+            // Id titik lama harus tetap sama (titik hanya ditambahkan di akhir)
+            if (!previousGraph.nameOf(kept - 1).equals(graph.nameOf(kept - 1)))
+                return null;
+            if (vertexCount == kept)
+                return previous;
+
+            Layout layout = new Layout(Arrays.copyOf(previous.xs, vertexCount), Arrays.copyOf(previous.ys, vertexCount));
+            layout.byCoordinates = previous.byCoordinates;
+            layout.spacing = previous.spacing;
+            layout.spareX = previous.spareX;
+            layout.spareY = previous.spareY;
+            layout.minX = previous.minX;
+            layout.minY = previous.minY;
+            layout.maxX = previous.maxX;
+            layout.maxY = previous.maxY;
+
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            for (int vertex = kept; vertex < vertexCount; vertex++) {
+                if (layout.byCoordinates && graph.hasCoordinates(vertex)) {
+                    layout.xs[vertex] = (float) graph.getX(vertex);
+                    layout.ys[vertex] = (float) -graph.getY(vertex);
+                } else {
+                    double sumX = 0;
+                    double sumY = 0;
+                    int count = 0;
+                    for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                        if (targets[arc] < vertex) {
+                            sumX += layout.xs[targets[arc]];
+                            sumY += layout.ys[targets[arc]];
+                            count++;
+                        }
+                    }
+                    if (count > 0) {
+                        layout.xs[vertex] = (float) (sumX / count + layout.spacing);
+                        layout.ys[vertex] = (float) (sumY / count + layout.spacing);
+                    } else {
+                        layout.xs[vertex] = (float) layout.spareX;
+                        layout.ys[vertex] = (float) layout.spareY;
+                        layout.spareY += layout.spacing;
+                    }
+                }
+                layout.include(vertex);
+            }
+
+            // Titik baru dicari secara linear sampai cukup banyak untuk membangun ulang indeks
+            layout.index = vertexCount - previous.index.indexedCount > previous.index.indexedCount / 16 + 256
+                    ? new GridIndex(layout)
+                    : previous.index;
+            return layout;
+        }
+
+        private void include(int vertex) {
+            minX = Math.min(minX, xs[vertex]);
+            minY = Math.min(minY, ys[vertex]);
+            maxX = Math.max(maxX, xs[vertex]);
+            maxY = Math.max(maxY, ys[vertex]);
+        }
+
+        /**
+         * Memakai koordinat titik (sumbu y dibalik agar utara berada di atas).
+         * Titik tanpa koordinat ditempatkan di rata-rata tetangganya yang berkoordinat.
+         */
+        private void placeByCoordinates(CsrGraph graph) {
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+
+            double fallbackX = Double.NaN;
+            double fallbackY = Double.NaN;
+            for (int vertex = 0; vertex < xs.length; vertex++) {
+                if (graph.hasCoordinates(vertex)) {
+                    xs[vertex] = (float) graph.getX(vertex);
+                    ys[vertex] = (float) -graph.getY(vertex);
+                    if (Double.isNaN(fallbackX)) {
+                        fallbackX = xs[vertex];
+                        fallbackY = ys[vertex];
+                    }
+                }
+            }
+
+            for (int vertex = 0; vertex < xs.length; vertex++) {
+                if (graph.hasCoordinates(vertex))
+                    continue;
+                double sumX = 0;
+                double sumY = 0;
+                int count = 0;
+                for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                    if (graph.hasCoordinates(targets[arc])) {
+                        sumX += graph.getX(targets[arc]);
+                        sumY -= graph.getY(targets[arc]);
+                        count++;
+                    }
+                }
+                xs[vertex] = (float) (count > 0 ? sumX / count : fallbackX);
+                ys[vertex] = (float) (count > 0 ? sumY / count : fallbackY);
+            }
+        }
+
+        /**
+         * Layout berlapis: setiap komponen ditelusuri BFS dari titik pertamanya,
+         * lapisan BFS menjadi kolom, dan komponen disusun berderet dalam baris
+         * selebar kira-kira akar jumlah titik.
+         * Lapisan yang lebih tinggi dari akar jumlah titik komponen dipecah
+         * menjadi beberapa kolom agar graf besar tidak menjadi satu pita panjang.
+         * Titik yang sudah punya posisi pada layout sebelumnya tidak dipindah.
+         */
+        private void placeByLayers(CsrGraph graph, Layout previous) {
+            int vertexCount = xs.length;
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+
+            int kept = previous == null ? 0 : Math.min(previous.xs.length, vertexCount);
+            double top = 0;
+            if (kept > 0) {
+                System.arraycopy(previous.xs, 0, xs, 0, kept);
+                System.arraycopy(previous.ys, 0, ys, 0, kept);
+                top = previous.maxY + ROW_SPACING * 2;
+            }
+
+            int[] level = new int[vertexCount];
+            Arrays.fill(level, -1);
+            Arrays.fill(level, 0, kept, 0);
+            int[] queue = new int[vertexCount];
+            int[] levelSize = new int[vertexCount + 1];
+            int[] levelColumn = new int[vertexCount + 1];
+
+            double shelfWidth = Math.ceil(Math.sqrt(vertexCount)) * LAYER_SPACING;
+            double left = 0;
+            double shelfHeight = 0;
+
+            for (int root = kept; root < vertexCount; root++) {
+                if (level[root] >= 0)
+                    continue;
+
+                int head = 0;
+                int tail = 0;
+                queue[tail++] = root;
+                level[root] = 0;
+                int maxLevel = 0;
+                while (head < tail) {
+                    int vertex = queue[head++];
+                    levelSize[level[vertex]]++;
+                    for (int arc = offsets[vertex]; arc < offsets[vertex + 1]; arc++) {
+                        int neighbor = targets[arc];
+                        if (level[neighbor] < 0) {
+                            level[neighbor] = level[vertex] + 1;
+                            maxLevel = Math.max(maxLevel, level[neighbor]);
+                            queue[tail++] = neighbor;
+                        }
+                    }
+                }
+
+                // Kolom awal setiap lapisan setelah lapisan tinggi dipecah
+                int maxRows = (int) Math.ceil(Math.sqrt(tail));
+                int rows = 0;
+                for (int l = 0; l <= maxLevel; l++) {
+                    levelColumn[l + 1] = levelColumn[l] + (levelSize[l] + maxRows - 1) / maxRows;
+                    rows = Math.max(rows, Math.min(levelSize[l], maxRows));
+                    levelSize[l] = 0;
+                }
+
+                double width = levelColumn[maxLevel + 1] * LAYER_SPACING;
+                if (left > 0 && left + width > shelfWidth) {
+                    top += shelfHeight + ROW_SPACING * 2;
+                    left = 0;
+                    shelfHeight = 0;
+                }
+
+                for (int i = 0; i < tail; i++) {
+                    int vertex = queue[i];
+                    int index = levelSize[level[vertex]]++;
+                    xs[vertex] = (float) (left + (levelColumn[level[vertex]] + index / maxRows) * LAYER_SPACING);
+                    ys[vertex] = (float) (top + (index % maxRows) * ROW_SPACING);
+                }
+
+                Arrays.fill(levelSize, 0, maxLevel + 1, 0);
+                left += width;
+                shelfHeight = Math.max(shelfHeight, (rows - 1) * ROW_SPACING);
+            }
+        }
+    }
+
+    /**
+     * Indeks grid seragam atas posisi titik untuk mencari titik di dalam
+     * viewport tanpa memeriksa seluruh graf. Isi setiap sel disimpan rapat
+     * dalam satu array (format CSR). Titik yang ditambahkan setelah indeks
+     * dibuat (id mulai {@link #indexedCount}) diperiksa satu per satu.
+     */
+    private static final class GridIndex {
+
+        /**
+         * Rata-rata jumlah titik per sel
+         */
+        private static final int VERTICES_PER_CELL = 4;
+
+        private final int indexedCount;
+
+        private final int columns;
+
+        private final int rows;
+
+        private final double originX;
+
+        private final double originY;
+
+        private final double cellWidth;
+
+        private final double cellHeight;
+
+        private final int[] cellStart;
+
+        private final int[] cellVertices;
+
+        GridIndex(Layout layout) {
+            int vertexCount = layout.xs.length;
+            indexedCount = vertexCount;
+            originX = layout.minX;
+            originY = layout.minY;
+            int side = (int) Math.max(1, Math.ceil(Math.sqrt((double) vertexCount / VERTICES_PER_CELL)));
+            columns = side;
+            rows = side;
+            cellWidth = Math.max(layout.maxX - layout.minX, 1) / columns;
+            cellHeight = Math.max(layout.maxY - layout.minY, 1) / rows;
+
+            int[] cells = new int[vertexCount];
+            cellStart = new int[columns * rows + 1];
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                cells[vertex] = column(layout.xs[vertex]) + row(layout.ys[vertex]) * columns;
+                cellStart[cells[vertex] + 1]++;
+            }
+            for (int cell = 0; cell < columns * rows; cell++) {
+                cellStart[cell + 1] += cellStart[cell];
+            }
+
+            cellVertices = new int[vertexCount];
+            int[] position = Arrays.copyOf(cellStart, columns * rows);
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                cellVertices[position[cells[vertex]]++] = vertex;
+            }
+        }
+
+        /**
+         * @return id titik di dalam persegi panjang dunia tersebut
+         */
+        int[] query(Layout layout, double minX, double minY, double maxX, double maxY) {
+            int fromColumn = column(minX);
+            int toColumn = column(maxX);
+            int fromRow = row(minY);
+            int toRow = row(maxY);
+
+            int[] result = new int[64];
+            int count = 0;
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int column = fromColumn; column <= toColumn; column++) {
+                    int cell = row * columns + column;
+                    for (int i = cellStart[cell]; i < cellStart[cell + 1]; i++) {
+                        int vertex = cellVertices[i];
+                        float x = layout.xs[vertex];
+                        float y = layout.ys[vertex];
+                        if (x < minX || x > maxX || y < minY || y > maxY)
+                            continue;
+                        if (count == result.length)
+                            result = Arrays.copyOf(result, count * 2);
+                        result[count++] = vertex;
+                    }
+                }
+            }
+            for (int vertex = indexedCount; vertex < layout.xs.length; vertex++) {
+                float x = layout.xs[vertex];
+                float y = layout.ys[vertex];
+                if (x < minX || x > maxX || y < minY || y > maxY)
+                    continue;
+                if (count == result.length)
+                    result = Arrays.copyOf(result, count * 2);
+                result[count++] = vertex;
+            }
+            return Arrays.copyOf(result, count);
+        }
+
+        private int column(double x) {
+            return (int) Math.max(0, Math.min(columns - 1, (x - originX) / cellWidth));
+        }
+
+        private int row(double y) {
+            return (int) Math.max(0, Math.min(rows - 1, (y - originY) / cellHeight));
+        }
+    }
+}
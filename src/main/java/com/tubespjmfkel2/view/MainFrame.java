@@ -3,19 +3,24 @@ package com.tubespjmfkel2.view;
 import java.awt.BorderLayout;
 import java.awt.Dimension;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import com.mxgraph.layout.hierarchical.mxHierarchicalLayout;
 import com.mxgraph.swing.mxGraphComponent;
 import com.mxgraph.util.mxRectangle;
 import com.mxgraph.view.mxGraph;
 
+import com.tubespjmfkel2.domain.Edge;
+import com.tubespjmfkel2.domain.Vertex;
 import com.tubespjmfkel2.service.GraphService;
 import com.tubespjmfkel2.service.DijkstraService;
 import com.tubespjmfkel2.dto.DijkstraResult;
-
-import org.apache.commons.csv.CSVFormat;
+import com.tubespjmfkel2.dto.ImportResult;
 
 import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
@@ -27,6 +32,7 @@ import javax.swing.JPanel;
 import java.awt.Graphics;
 import java.awt.Image;
 import java.io.File;
+import java.nio.file.Path;
 
 import javax.swing.JFrame;
 import javax.swing.JButton;
@@ -34,9 +40,38 @@ import javax.swing.JPanel;
 import javax.swing.JOptionPane;
 import javax.swing.SwingConstants;
 import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 public class MainFrame extends JFrame {
 
+    /**
+     * Jumlah titik minimum agar graf ditampilkan dengan {@link LargeGraphPanel}
+     * alih-alih satu cell mxGraph per titik dan jarak
+     */
+    private static final int LARGE_GRAPH_THRESHOLD = 2000;
+
+    /**
+     * Nama style bersama di stylesheet mxGraph. Cell hanya menyimpan nama
+     * style, sehingga mengganti tampilan cukup dengan mengganti nama tersebut
+     * tanpa mem-parse ulang string style per cell.
+     */
+    private static final String VERTEX_STYLE = "titik";
+
+    private static final String EDGE_STYLE = "jarak";
+
+    private static final String ROUTE_STYLE = "rute";
+
+    private static final String VERTEX_STYLE_VALUE = "shape=ellipse;strokeWidth=3;fontSize=20;strokeColor=white;strokeColorValue=3;fontColor=black";
+
+    private static final String EDGE_STYLE_VALUE = "endArrow=none;strokeColor=white;rounded=true;strokeWidth=3;fontColor=yellow;fontSize=20";
+
+    /**
+     * Style edge di luar rute setelah rute pertama ditampilkan
+     */
+    private static final String EDGE_OUTSIDE_ROUTE_STYLE_VALUE = "strokeColor=red;strokeWidth=3;endArrow=none;rounded=true;fontColor=white;fontSize=20";
+
+    private static final String ROUTE_STYLE_VALUE = "strokeColor=green;strokeWidth=5;endArrow=none;rounded=true;fontColor=white;fontSize=20";
+
     private GraphService graphService = new GraphService();
 
     private DijkstraService dijkstraService = new DijkstraService(graphService);
@@ -49,6 +84,30 @@ public class MainFrame extends JFrame {
 
     private mxGraphComponent graphComponent = new mxGraphComponent(uiGraph);
 
+    /**
+     * Edge yang sedang bergaya {@link #ROUTE_STYLE}
+     */
+    private Set<Object> highlightedEdges = new HashSet<>();
+
+    /**
+     * true jika {@link #EDGE_STYLE} sedang memakai warna edge di luar rute
+     */
+    private boolean routeShown;
+
+    /**
+     * Query rute yang sedang berjalan; dibatalkan jika pengguna meminta rute baru
+     */
+    private CompletableFuture<DijkstraResult> pendingQuery;
+
+    private JLabel statusLabel = new JLabel(" ");
+
+    private LargeGraphPanel largeGraphPanel = new LargeGraphPanel();
+
+    /**
+     * true jika graf sedang ditampilkan dengan {@link #largeGraphPanel}
+     */
+    private boolean largeGraphMode;
+
     private Image loadImage(String path) {
         try {
             return ImageIO.read(new File(path));
@@ -62,6 +121,10 @@ public class MainFrame extends JFrame {
 
         super("Pencarian Rute Terpendek Menuju Bengkel");
 
+        putStyle(VERTEX_STYLE, VERTEX_STYLE_VALUE);
+        putStyle(EDGE_STYLE, EDGE_STYLE_VALUE);
+        putStyle(ROUTE_STYLE, ROUTE_STYLE_VALUE);
+
         JButton btnAddVertex = new JButton("➕ Tambah Titik Tempat");
         JButton btnAddEdge = new JButton("➕ Tambah Jarak");
         JButton btnFindPath = new JButton("🔎 Cari Rute Terpendek");
@@ -83,6 +146,7 @@ public class MainFrame extends JFrame {
 
         JPanel centerPanel = new JPanel();
         centerPanel.add(btnFindPath);
+        centerPanel.add(statusLabel);
 
         JPanel rightPanel = new JPanel();
         rightPanel.add(btnResetGraph);
@@ -123,47 +187,62 @@ public class MainFrame extends JFrame {
         setVisible(true);
     }
 
-    public boolean importCSV(String path) {
-        try (var reader = new java.io.FileReader(path)) {
-
-            var csv = CSVFormat.DEFAULT.builder()
-                    .setHeader("type", "source", "destination", "weight")
-                    .setSkipHeaderRecord(true)
-                    .build()
-                    .parse(reader);
-
-            int v = 0, e = 0;
-
-            for (var row : csv) {
-                String type = row.get("type");
-                String source = row.get("source");
-                String destination = row.get("destination");
-                String weight = row.get("weight");
-
-                if (type.equalsIgnoreCase("V")) {
-                    String error = graphService.addVertex(source);
-                    if (error == null) {
-                        addVertexUI(source);
-                        v++;
-                    }
-                }
+    /**
+     * Mengimpor CSV di thread latar melalui {@link SwingWorker} agar UI tetap
+     * responsif, lalu menampilkan graf hasil import di thread UI.
+     *
+     * @param onFinished dipanggil di thread UI dengan true jika import berhasil
+     */
+    public void importCSV(String path, Consumer<Boolean> onFinished) {
+        statusLabel.setText("Mengimpor CSV...");
 
-                if (type.equalsIgnoreCase("E")) {
-                    String error = graphService.addEdge(source, destination, Integer.parseInt(weight));
-                    if (error == null) {
-                        addEdgeUI(source, destination, Integer.parseInt(weight));
-                        e++;
-                    }
-                }
+        new SwingWorker<ImportResult, Void>() {
+            @Override
+            protected ImportResult doInBackground() throws Exception {
+                return graphService.importCsv(Path.of(path));
             }
 
-            refreshGraph();
-            JOptionPane.showMessageDialog(null, "✔ Vertex: " + v + "\n✔ Edge: " + e);
+            @Override
+            protected void done() {
+                statusLabel.setText(" ");
+
+                ImportResult result;
+                try {
+                    result = get();
+                } catch (Exception error) {
+                    onFinished.accept(false);
+                    return;
+                }
 
-            return true;
+                if (isLargeGraph()) {
+                    showLargeGraph();
+                } else {
+                    populateUI();
+                    refreshGraph();
+                }
+                JOptionPane.showMessageDialog(null,
+                        "✔ Vertex: " + result.getVertexCount() + "\n✔ Edge: " + result.getEdgeCount());
 
-        } catch (Exception error) {
-            return false;
+                onFinished.accept(true);
+            }
+        }.execute();
+    }
+
+    /**
+     * Membuat seluruh cell UI dari graf yang sudah selesai dimuat dalam
+     * satu model update, sehingga mxGraph hanya memproses perubahan sekali.
+     */
+    private void populateUI() {
+        uiGraph.getModel().beginUpdate();
+        try {
+            for (Vertex vertex : graphService.getGraph().getVertices()) {
+                addVertexUI(vertex.getName());
+            }
+            for (Edge edge : graphService.getGraph().getEdges()) {
+                addEdgeUI(edge.getSource().getName(), edge.getDestination().getName(), edge.getWeight());
+            }
+        } finally {
+            uiGraph.getModel().endUpdate();
         }
     }
 
@@ -176,6 +255,11 @@ public class MainFrame extends JFrame {
             return;
         }
 
+        if (isLargeGraph()) {
+            showLargeGraph();
+            return;
+        }
+
         addVertexUI(vertexName);
         refreshGraph();
     }
@@ -189,7 +273,7 @@ public class MainFrame extends JFrame {
                     vertexName,
                     100, 100,
                     100, 100,
-                    "shape=ellipse;strokeWidth=3;fontSize=20;strokeColor=white;strokeColorValue=3;fontColor=black");
+                    VERTEX_STYLE);
             uiVertexMap.put(vertexName, uiVertex);
         } finally {
             uiGraph.getModel().endUpdate();
@@ -209,10 +293,39 @@ public class MainFrame extends JFrame {
             return;
         }
 
+        if (largeGraphMode) {
+            largeGraphPanel.setGraph(graphService.getGraph().snapshot());
+            return;
+        }
+
         addEdgeUI(source, destination, Integer.parseInt(weight));
         refreshGraph();
     }
 
+    /**
+     * @return true jika graf sudah atau harus ditampilkan dengan {@link LargeGraphPanel}
+     */
+    private boolean isLargeGraph() {
+        return largeGraphMode || graphService.getGraph().getVertices().size() >= LARGE_GRAPH_THRESHOLD;
+    }
+
+    /**
+     * Beralih ke tampilan graf besar. Cell mxGraph yang ada dihapus karena
+     * tidak lagi dipakai, dan layout dihitung oleh {@link LargeGraphPanel}
+     * di luar thread UI.
+     */
+    private void showLargeGraph() {
+        if (!largeGraphMode) {
+            clearUI();
+            getContentPane().remove(graphComponent);
+            getContentPane().add(largeGraphPanel, BorderLayout.CENTER);
+            largeGraphMode = true;
+            revalidate();
+        }
+        largeGraphPanel.setGraph(graphService.getGraph().snapshot());
+        repaint();
+    }
+
     private void addEdgeUI(String source, String destination, int weight) {
 
         Object vertexSource = uiVertexMap.get(source);
@@ -226,7 +339,7 @@ public class MainFrame extends JFrame {
                     weight,
                     vertexSource,
                     vertexDestination,
-                    "endArrow=none;strokeColor=white;rounded=true;strokeWidth=3;fontColor=yellow;fontSize=20");
+                    EDGE_STYLE);
 
             uiEdgeMap.put(source + "->" + destination, edge);
             uiEdgeMap.put(destination + "->" + source, edge);
@@ -236,12 +349,43 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * Meminta rute di thread milik {@link DijkstraService} agar jendela tetap
+     * responsif. Query sebelumnya yang belum selesai dibatalkan, dan hanya
+     * hasil query terakhir yang ditampilkan.
+     */
     private void findPath() {
         String start = JOptionPane.showInputDialog("Dari Titik:");
         String end = JOptionPane.showInputDialog("Menuju Titik:");
 
-        DijkstraResult result = dijkstraService.findShortestPath(start, end);
+        if (pendingQuery != null)
+            pendingQuery.cancel(false);
+
+        statusLabel.setText("Menghitung rute...");
+        CompletableFuture<DijkstraResult> query = dijkstraService.findShortestPathAsync(start, end,
+                settled -> SwingUtilities.invokeLater(() -> showProgress(settled)));
+        pendingQuery = query;
+
+        query.whenComplete((result, error) -> SwingUtilities.invokeLater(() -> {
+            // Query yang sudah digantikan tidak boleh menimpa tampilan
+            if (query != pendingQuery)
+                return;
+            pendingQuery = null;
+            statusLabel.setText(" ");
+
+            if (error == null)
+                showPath(start, end, result);
+            else if (!query.isCancelled())
+                JOptionPane.showMessageDialog(null, "Gagal mencari rute: " + error.getMessage());
+        }));
+    }
+
+    private void showProgress(long settled) {
+        if (pendingQuery != null)
+            statusLabel.setText("Menghitung rute... " + settled + " titik diproses");
+    }
 
+    private void showPath(String start, String end, DijkstraResult result) {
         if (result == null) {
             JOptionPane.showMessageDialog(null, "Rute tidak ditemukan!");
             return;
@@ -266,36 +410,82 @@ public class MainFrame extends JFrame {
         JOptionPane.showMessageDialog(null, sb.toString());
     }
 
+    /**
+     * Menandai rute dengan hanya mengganti style edge yang berbeda dari rute
+     * sebelumnya. Warna edge di luar rute diubah sekali melalui style bersama
+     * {@link #EDGE_STYLE}, bukan per edge.
+     */
     private void highlightPath(List<String> path) {
+        if (largeGraphMode) {
+            largeGraphPanel.setRoute(path);
+            return;
+        }
 
-        uiGraph.getModel().beginUpdate();
-        try {
-            uiEdgeMap.forEach((k, e) -> uiGraph.setCellStyle(
-                    "strokeColor=red;strokeWidth=3;endArrow=none;rounded=true;fontColor=white;fontSize=20",
-                    new Object[] { e }));
+        Set<Object> routeEdges = new HashSet<>();
+        for (int i = 0; i < path.size() - 1; i++) {
+            Object edge = uiEdgeMap.get(path.get(i) + "->" + path.get(i + 1));
+            if (edge != null)
+                routeEdges.add(edge);
+        }
 
-            for (int i = 0; i < path.size() - 1; i++) {
-                colorEdge(path.get(i), path.get(i + 1));
-            }
+        Set<Object> removed = new HashSet<>(highlightedEdges);
+        removed.removeAll(routeEdges);
+        Set<Object> added = new HashSet<>(routeEdges);
+        added.removeAll(highlightedEdges);
 
+        uiGraph.getModel().beginUpdate();
+        try {
+            if (!removed.isEmpty())
+                uiGraph.setCellStyle(EDGE_STYLE, removed.toArray());
+            if (!added.isEmpty())
+                uiGraph.setCellStyle(ROUTE_STYLE, added.toArray());
         } finally {
             uiGraph.getModel().endUpdate();
         }
+        highlightedEdges = routeEdges;
+
+        if (!routeShown) {
+            putStyle(EDGE_STYLE, EDGE_OUTSIDE_ROUTE_STYLE_VALUE);
+            routeShown = true;
+            uiGraph.refresh();
+        }
     }
 
-    private void colorEdge(String source, String destination) {
-        Object edge = uiEdgeMap.get(source + "->" + destination);
-        if (edge != null) {
-            uiGraph.setCellStyle(
-                    "strokeColor=green;strokeWidth=5;endArrow=none;rounded=true;fontColor=white;fontSize=20",
-                    new Object[] { edge });
+    /**
+     * Mendaftarkan style bersama dari string style berformat {@code key=value;...}.
+     */
+    private void putStyle(String name, String value) {
+        Map<String, Object> style = new HashMap<>();
+        for (String entry : value.split(";")) {
+            int separator = entry.indexOf('=');
+            style.put(entry.substring(0, separator), entry.substring(separator + 1));
         }
+        uiGraph.getStylesheet().putCellStyle(name, style);
     }
 
     private void resetGraph() {
         graphService.reset();
+        clearUI();
+
+        if (largeGraphMode) {
+            getContentPane().remove(largeGraphPanel);
+            getContentPane().add(graphComponent, BorderLayout.CENTER);
+            largeGraphPanel = new LargeGraphPanel();
+            largeGraphMode = false;
+        }
+
+        refreshGraph();
+    }
+
+    private void clearUI() {
         uiVertexMap.clear();
         uiEdgeMap.clear();
+        highlightedEdges.clear();
+
+        if (routeShown) {
+            putStyle(EDGE_STYLE, EDGE_STYLE_VALUE);
+            routeShown = false;
+        }
 
         uiGraph.getModel().beginUpdate();
         try {
@@ -303,11 +493,15 @@ public class MainFrame extends JFrame {
         } finally {
             uiGraph.getModel().endUpdate();
         }
-
-        refreshGraph();
     }
 
     private void refreshGraph() {
+        // Graf yang tumbuh melewati batas tidak lagi di-layout oleh mxGraph
+        if (isLargeGraph()) {
+            showLargeGraph();
+            return;
+        }
+
         mxHierarchicalLayout layout = new mxHierarchicalLayout(uiGraph);
         layout.setOrientation(SwingConstants.WEST);
         layout.setIntraCellSpacing(70);
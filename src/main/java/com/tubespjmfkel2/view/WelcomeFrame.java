@@ -61,12 +61,12 @@ public class WelcomeFrame extends JFrame {
             if (pathCsv == null || pathCsv.isBlank())
                 return;
 
-            try {
-                MainFrame mf = new MainFrame();
-                boolean ok = mf.importCSV(pathCsv);
-
+            btnImport.setEnabled(false);
+            MainFrame mf = new MainFrame();
+            mf.importCSV(pathCsv, ok -> {
                 if (!ok) {
                     mf.dispose();
+                    btnImport.setEnabled(true);
                     JOptionPane.showMessageDialog(
                             this,
                             "Import CSV gagal. Periksa file!",
@@ -76,14 +76,7 @@ public class WelcomeFrame extends JFrame {
                 }
 
                 dispose();
-
-            } catch (Exception ex) {
-                JOptionPane.showMessageDialog(
-                        this,
-                        "Terjadi kesalahan: " + ex.getMessage(),
-                        "Error",
-                        JOptionPane.ERROR_MESSAGE);
-            }
+            });
         });
 
         setVisible(true);
@@ -0,0 +1,276 @@
+package com.tubespjmfkel2.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.tubespjmfkel2.algorithm.Dijkstra;
+import com.tubespjmfkel2.algorithm.Frontier;
+import com.tubespjmfkel2.algorithm.Heuristics;
+import com.tubespjmfkel2.algorithm.SearchContext;
+import com.tubespjmfkel2.domain.CsrGraph;
+import com.tubespjmfkel2.domain.Vertex;
+import com.tubespjmfkel2.dto.DijkstraResult;
+import com.tubespjmfkel2.dto.DistanceMatrix;
+import com.tubespjmfkel2.dto.ShortestPathTree;
+import com.tubespjmfkel2.dto.VoronoiPartition;
+
+/**
+ * Membandingkan setiap mesin rute dengan Dijkstra referensi
+ * ({@link Dijkstra.SelectionMode#LINEAR_SCAN}) pada graf acak kecil.
+ */
+class RoutingCrossCheckTest {
+
+    private static final int GRAPH_COUNT = 20;
+
+    private static final int VERTEX_COUNT = 60;
+
+    private static final int EDGE_COUNT = 110;
+
+    /**
+     * Graf acak dengan koordinat; bobot edge tidak lebih kecil dari jarak
+     * garis lurus sehingga heuristik Euclidean tetap admissible. Sebagian
+     * vertex tidak memiliki edge sama sekali agar kasus tidak terjangkau ikut diuji.
+     */
+    private static GraphService randomGraph(long seed, int maxExtraWeight) {
+        Random random = new Random(seed);
+        GraphService graphService = new GraphService();
+        double[] x = new double[VERTEX_COUNT];
+        double[] y = new double[VERTEX_COUNT];
+        for (int i = 0; i < VERTEX_COUNT; i++) {
+            x[i] = random.nextInt(100);
+            y[i] = random.nextInt(100);
+            graphService.addVertex(name(i), x[i], y[i]);
+        }
+        for (int i = 0; i < EDGE_COUNT; i++) {
+            int source = random.nextInt(VERTEX_COUNT - 5);
+            int destination = random.nextInt(VERTEX_COUNT - 5);
+            if (source == destination)
+                continue;
+            int straight = (int) Math.ceil(Math.hypot(x[source] - x[destination], y[source] - y[destination]));
+            graphService.addEdge(name(source), name(destination), straight + 1 + random.nextInt(maxExtraWeight));
+        }
+        return graphService;
+    }
+
+    private static String name(int index) {
+        return "v" + index;
+    }
+
+    /**
+     * Jarak dari Dijkstra referensi yang bekerja langsung pada objek {@link Vertex}.
+     *
+     * @return jarak per nama vertex; vertex yang tidak terjangkau bernilai {@link Long#MAX_VALUE}
+     */
+    private static Map<String, Long> reference(GraphService graphService, String source) {
+        for (Vertex vertex : graphService.getGraph().getVertices()) {
+            vertex.setDistance(Integer.MAX_VALUE);
+            vertex.setPrevious(null);
+        }
+        Dijkstra.calculateShortestPathFromSource(
+                graphService.findVertex(source), Dijkstra.SelectionMode.LINEAR_SCAN);
+
+        Map<String, Long> distances = new HashMap<>();
+        for (Vertex vertex : graphService.getGraph().getVertices()) {
+            int distance = vertex.getDistance();
+            distances.put(vertex.getName(), distance == Integer.MAX_VALUE ? Long.MAX_VALUE : distance);
+        }
+        return distances;
+    }
+
+    /**
+     * Memastikan jarak sesuai referensi dan rute benar-benar mengikuti edge
+     * graf dengan total bobot sama dengan jarak yang dilaporkan.
+     */
+    private static void assertRoute(CsrGraph graph, String source, String target, long expected,
+            DijkstraResult result) {
+        String label = source + " -> " + target;
+        if (expected == Long.MAX_VALUE) {
+            assertNull(result, label);
+            return;
+        }
+        assertNotNull(result, label);
+        assertEquals(expected, result.getDistance(), label);
+
+        List<String> path = result.getPath();
+        assertEquals(source, path.get(0), label);
+        assertEquals(target, path.get(path.size() - 1), label);
+        long total = 0;
+        for (int i = 0; i + 1 < path.size(); i++) {
+            int weight = graph.getEdgeWeight(graph.idOf(path.get(i)), graph.idOf(path.get(i + 1)));
+            assertTrue(weight != Integer.MAX_VALUE, label + ": edge " + path.get(i) + " -> " + path.get(i + 1));
+            total += weight;
+        }
+        assertEquals(expected, total, label);
+    }
+
+    @Test
+    void pointToPointMatchesReference() {
+        for (int seed = 0; seed < GRAPH_COUNT; seed++) {
+            GraphService graphService = randomGraph(seed, 20);
+            CsrGraph graph = graphService.getGraph().snapshot();
+            Map<String, Map<String, Long>> expected = new HashMap<>();
+            for (int source = 0; source < VERTEX_COUNT; source += 7) {
+                expected.put(name(source), reference(graphService, name(source)));
+            }
+
+            // Service baru per algoritma agar cache rute tidak menjawab query algoritma berikutnya
+            for (DijkstraService.Algorithm algorithm : DijkstraService.Algorithm.values()) {
+                DijkstraService dijkstraService = new DijkstraService(graphService);
+                dijkstraService.setAlgorithm(algorithm);
+                dijkstraService.setHeuristic(Heuristics.euclidean(1.0));
+                if (algorithm == DijkstraService.Algorithm.ALT)
+                    dijkstraService.prepareLandmarks(4);
+                if (algorithm == DijkstraService.Algorithm.CONTRACTION_HIERARCHIES)
+                    dijkstraService.prepareContractionHierarchy();
+
+                for (Map.Entry<String, Map<String, Long>> entry : expected.entrySet()) {
+                    String source = entry.getKey();
+                    for (int target = 0; target < VERTEX_COUNT; target++) {
+                        if (name(target).equals(source))
+                            continue;
+                        assertRoute(graph, source, name(target), entry.getValue().get(name(target)),
+                                dijkstraService.findShortestPath(source, name(target)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void frontiersMatchReference() {
+        // Bobot besar memaksa bucket queue memindai banyak bucket dan radix heap memakai banyak level
+        for (int seed = 0; seed < GRAPH_COUNT; seed++) {
+            GraphService graphService = randomGraph(seed, seed % 2 == 0 ? 20 : 100_000);
+            CsrGraph graph = graphService.getGraph().snapshot();
+            SearchContext context = new SearchContext(graph.getVertexCount());
+
+            for (int source = 0; source < VERTEX_COUNT; source += 5) {
+                Map<String, Long> expected = reference(graphService, name(source));
+                for (Frontier.Type type : Frontier.Type.values()) {
+                    Dijkstra.calculateShortestPath(
+                            graph, context, graph.idOf(name(source)), -1, Long.MAX_VALUE, type);
+                    for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+                        assertEquals((long) expected.get(graph.nameOf(vertex)), context.getDistance(vertex),
+                                type + " " + name(source) + " -> " + graph.nameOf(vertex));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void shortestPathTreeMatchesReferenceAfterEdgeChanges() {
+        for (int seed = 0; seed < GRAPH_COUNT; seed++) {
+            Random random = new Random(seed);
+            GraphService graphService = randomGraph(seed, 20);
+            DijkstraService dijkstraService = new DijkstraService(graphService);
+            String source = name(0);
+
+            for (int round = 0; round < 10; round++) {
+                ShortestPathTree tree = dijkstraService.shortestPathTree(source);
+                CsrGraph graph = tree.getGraph();
+                Map<String, Long> expected = reference(graphService, source);
+                for (int target = 0; target < VERTEX_COUNT; target++) {
+                    int id = graph.idOf(name(target));
+                    assertEquals((long) expected.get(name(target)), tree.getDistance(id), "round " + round);
+                    if (target != 0)
+                        assertRoute(graph, source, name(target), expected.get(name(target)), tree.pathTo(name(target)));
+                }
+
+                // Perubahan kecil pada edge yang ada agar pohon berikutnya diperbaiki secara inkremental
+                for (int change = 0; change < 3; change++) {
+                    int arc = random.nextInt(graph.getArcCount());
+                    int tail = 0;
+                    while (graph.getOffsets()[tail + 1] <= arc) {
+                        tail++;
+                    }
+                    String a = graph.nameOf(tail);
+                    String b = graph.nameOf(graph.getTargets()[arc]);
+                    switch (random.nextInt(3)) {
+                        case 0 -> graphService.updateEdgeWeight(a, b, 1 + random.nextInt(400));
+                        case 1 -> graphService.removeEdge(a, b);
+                        default -> graphService.addEdge(a, name(random.nextInt(VERTEX_COUNT)), 1 + random.nextInt(400));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void oneToManyAndMatrixMatchReference() {
+        for (int seed = 0; seed < GRAPH_COUNT; seed++) {
+            GraphService graphService = randomGraph(seed, 20);
+            CsrGraph graph = graphService.getGraph().snapshot();
+            DijkstraService dijkstraService = new DijkstraService(graphService);
+
+            List<String> few = List.of(name(1), name(2), name(VERTEX_COUNT - 1));
+            List<String> many = new ArrayList<>();
+            for (int i = 0; i < VERTEX_COUNT; i += 4) {
+                many.add(name(i));
+            }
+
+            for (String source : few) {
+                Map<String, Long> expected = reference(graphService, source);
+                List<DijkstraResult> results = dijkstraService.findShortestPaths(source, many);
+                for (int i = 0; i < many.size(); i++) {
+                    assertRoute(graph, source, many.get(i), expected.get(many.get(i)), results.get(i));
+                }
+            }
+
+            // Sisi asal lebih kecil lalu lebih besar, sehingga jalur transpose juga diuji
+            DistanceMatrix wide = dijkstraService.distanceMatrix(few, many);
+            DistanceMatrix tall = dijkstraService.distanceMatrix(many, few);
+            for (int i = 0; i < few.size(); i++) {
+                Map<String, Long> expected = reference(graphService, few.get(i));
+                for (int j = 0; j < many.size(); j++) {
+                    long distance = expected.get(many.get(j));
+                    assertEquals(distance, wide.getDistance(i, j), few.get(i) + " -> " + many.get(j));
+                    assertEquals(distance, tall.getDistance(j, i), many.get(j) + " -> " + few.get(i));
+                }
+            }
+        }
+    }
+
+    @Test
+    void partitionMatchesReference() {
+        for (int seed = 0; seed < GRAPH_COUNT; seed++) {
+            GraphService graphService = randomGraph(seed, 20);
+            DijkstraService dijkstraService = new DijkstraService(graphService);
+            List<String> sources = List.of(name(3), name(17), name(40));
+
+            Map<String, Map<String, Long>> expected = new HashMap<>();
+            for (String source : sources) {
+                expected.put(source, reference(graphService, source));
+            }
+
+            VoronoiPartition partition = dijkstraService.partitionBySource(sources);
+            CsrGraph graph = partition.getGraph();
+            for (int vertex = 0; vertex < graph.getVertexCount(); vertex++) {
+                long nearest = Long.MAX_VALUE;
+                for (Map<String, Long> distances : expected.values()) {
+                    nearest = Math.min(nearest, distances.get(graph.nameOf(vertex)));
+                }
+                int distance = partition.getDistance(vertex);
+                assertEquals(nearest, distance == VoronoiPartition.UNREACHABLE ? Long.MAX_VALUE : distance,
+                        graph.nameOf(vertex));
+
+                // Saat jarak sama, sumber mana pun boleh dipilih asalkan jaraknya memang terdekat
+                String owner = partition.getNearestSourceName(graph.nameOf(vertex));
+                if (nearest != Long.MAX_VALUE)
+                    assertEquals(nearest, (long) expected.get(owner).get(graph.nameOf(vertex)), graph.nameOf(vertex));
+                else
+                    assertNull(owner, graph.nameOf(vertex));
+            }
+        }
+    }
+}